@@ -0,0 +1,52 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+/**
+ * Thrown when a conversion is cancelled with its {@link CancellationToken} or exceeds its timeout.
+ * The documents built before the cancellation are kept, the document being built is not written.
+ */
+public class ConversionCancelledException extends RuntimeException {
+
+    private final String stoppedAt;
+    private final boolean timedOut;
+
+    /**
+     * @param stoppedAt describes the operation, definition or inline schema which was about to be rendered
+     * @param timedOut true if the conversion exceeded its timeout, false if it has been cancelled
+     */
+    public ConversionCancelledException(String stoppedAt, boolean timedOut) {
+        super(String.format("Conversion %s before %s", timedOut ? "timed out" : "cancelled", stoppedAt));
+        this.stoppedAt = stoppedAt;
+        this.timedOut = timedOut;
+    }
+
+    /**
+     * Returns where the conversion stopped, e.g. {@code operation getPetById}
+     *
+     * @return the operation, definition or inline schema which was about to be rendered
+     */
+    public String getStoppedAt() {
+        return stoppedAt;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import io.github.robwin.swagger2markup.utils.ReferenceUtils;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the references between the definitions and the operations of a Swagger model.
+ * The references are collected in a single pass over the operations and the definitions, with the rules of
+ * {@link ReferenceUtils}. References to unknown definitions are ignored.
+ * Operations are identified by their HTTP method and path, so that any {@link PathOperation} instance can be looked up.
+ * An index is immutable and thread-safe, but is not updated when the Swagger model changes.
+ */
+public class DefinitionDependencyIndex {
+
+    private final Set<PathOperation> operations;
+    private final SetMultimap<String, String> definitionDependencies = LinkedHashMultimap.create();
+    private final SetMultimap<String, String> definitionDependents = LinkedHashMultimap.create();
+    private final SetMultimap<String, String> operationDependencies = LinkedHashMultimap.create();
+    private final SetMultimap<String, PathOperation> operationDependents = LinkedHashMultimap.create();
+
+    /**
+     * Indexes all the operations and definitions of a Swagger model
+     *
+     * @param swagger the Swagger model
+     */
+    public DefinitionDependencyIndex(Swagger swagger) {
+        this(swagger, collectOperations(swagger));
+    }
+
+    /**
+     * Indexes some operations and all the definitions of a Swagger model
+     *
+     * @param swagger the Swagger model
+     * @param operations the operations to index
+     */
+    public DefinitionDependencyIndex(Swagger swagger, Collection<PathOperation> operations) {
+        this.operations = ImmutableSet.copyOf(operations);
+        Map<String, Model> definitions = swagger.getDefinitions() == null ? Collections.<String, Model>emptyMap() : swagger.getDefinitions();
+
+        List<String> references = new ArrayList<>();
+        for (PathOperation operation : this.operations) {
+            references.clear();
+            ReferenceUtils.collectReferences(operation.getOperation(), swagger.getParameters(), references);
+            for (String reference : references) {
+                if (definitions.containsKey(reference)) {
+                    operationDependencies.put(operationKey(operation), reference);
+                    operationDependents.put(reference, operation);
+                }
+            }
+        }
+        for (Map.Entry<String, Model> definition : definitions.entrySet()) {
+            references.clear();
+            ReferenceUtils.collectReferences(definition.getValue(), references);
+            for (String reference : references) {
+                if (definitions.containsKey(reference)) {
+                    definitionDependencies.put(definition.getKey(), reference);
+                    definitionDependents.put(reference, definition.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the indexed operations
+     *
+     * @return the indexed operations
+     */
+    public Set<PathOperation> getOperations() {
+        return operations;
+    }
+
+    /**
+     * Returns the definitions directly referenced by a definition
+     *
+     * @param definitionName the definition name
+     * @return the referenced definition names
+     */
+    public Set<String> getDefinitionDependencies(String definitionName) {
+        return Collections.unmodifiableSet(definitionDependencies.get(definitionName));
+    }
+
+    /**
+     * Returns the definitions directly referenced by an operation
+     *
+     * @param operation the operation
+     * @return the referenced definition names
+     */
+    public Set<String> getDefinitionDependencies(PathOperation operation) {
+        return Collections.unmodifiableSet(operationDependencies.get(operationKey(operation)));
+    }
+
+    /**
+     * Returns the definitions directly or transitively referenced by some operations
+     *
+     * @param operations the operations
+     * @return the referenced definition names
+     */
+    public Set<String> getTransitiveDefinitionDependencies(Collection<PathOperation> operations) {
+        Deque<String> pendingDefinitions = new ArrayDeque<>();
+        for (PathOperation operation : operations) {
+            pendingDefinitions.addAll(operationDependencies.get(operationKey(operation)));
+        }
+        return closure(pendingDefinitions, definitionDependencies);
+    }
+
+    /**
+     * Returns the definitions which directly reference a definition
+     *
+     * @param definitionName the definition name
+     * @return the referencing definition names
+     */
+    public Set<String> getDefinitionDependents(String definitionName) {
+        return Collections.unmodifiableSet(definitionDependents.get(definitionName));
+    }
+
+    /**
+     * Returns the definitions which directly or transitively reference a definition
+     *
+     * @param definitionName the definition name
+     * @return the referencing definition names, without the definition itself unless it belongs to a reference cycle
+     */
+    public Set<String> getTransitiveDefinitionDependents(String definitionName) {
+        return closure(new ArrayDeque<>(definitionDependents.get(definitionName)), definitionDependents);
+    }
+
+    /**
+     * Returns the operations which directly reference a definition
+     *
+     * @param definitionName the definition name
+     * @return the referencing operations
+     */
+    public Set<PathOperation> getOperationDependents(String definitionName) {
+        return Collections.unmodifiableSet(operationDependents.get(definitionName));
+    }
+
+    /**
+     * Returns the operations which directly or transitively reference a definition, i.e. the operations affected by a change of the definition
+     *
+     * @param definitionName the definition name
+     * @return the referencing operations
+     */
+    public Set<PathOperation> getTransitiveOperationDependents(String definitionName) {
+        Set<PathOperation> dependentOperations = new LinkedHashSet<>(operationDependents.get(definitionName));
+        for (String dependentDefinition : getTransitiveDefinitionDependents(definitionName)) {
+            dependentOperations.addAll(operationDependents.get(dependentDefinition));
+        }
+        return Collections.unmodifiableSet(dependentOperations);
+    }
+
+    /**
+     * Returns the key of an operation, which is unique in a Swagger model, unlike its id
+     */
+    private static String operationKey(PathOperation operation) {
+        return operation.getMethod() + " " + operation.getPath();
+    }
+
+    private static Set<String> closure(Deque<String> pendingDefinitions, SetMultimap<String, String> edges) {
+        Set<String> definitions = new LinkedHashSet<>();
+        while (!pendingDefinitions.isEmpty()) {
+            String definitionName = pendingDefinitions.pop();
+            if (definitions.add(definitionName))
+                pendingDefinitions.addAll(edges.get(definitionName));
+        }
+        return Collections.unmodifiableSet(definitions);
+    }
+
+    private static Set<PathOperation> collectOperations(Swagger swagger) {
+        Set<PathOperation> operations = new LinkedHashSet<>();
+        if (swagger.getPaths() != null) {
+            for (Map.Entry<String, Path> path : swagger.getPaths().entrySet()) {
+                Map<HttpMethod, Operation> pathOperations = path.getValue().getOperationMap();
+                for (Map.Entry<HttpMethod, Operation> operation : pathOperations.entrySet()) {
+                    operations.add(new PathOperation(operation.getKey(), path.getKey(), operation.getValue()));
+                }
+            }
+        }
+        return operations;
+    }
+}
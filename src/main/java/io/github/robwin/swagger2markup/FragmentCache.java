@@ -0,0 +1,237 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.github.robwin.markup.builder.MarkupLanguage;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import org.apache.commons.lang3.Validate;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of rendered operations and definitions, bounded by the total size of the rendered fragments rather than by their number.
+ * A cache can be shared by several converters and threads: the entries are split into independently locked segments,
+ * and concurrent requests of the same missing fragment render it only once.
+ * Fragments are evicted in least-recently-used order within a segment. A fragment larger than the size of a segment,
+ * i.e. the maximum size divided by the concurrency level, is rendered but not kept.
+ * The hit, miss and eviction counts are exposed for monitoring.
+ */
+public class FragmentCache {
+
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * Approximate size of an entry besides its fragment and item id, in bytes
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final Cache<Key, String> fragments;
+    private final AtomicLong sizeInBytes = new AtomicLong();
+
+    /**
+     * @param maxBytes the maximum total size of the cached fragments, in bytes
+     */
+    public FragmentCache(long maxBytes) {
+        this(maxBytes, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * @param maxBytes the maximum total size of the cached fragments, in bytes
+     * @param concurrencyLevel the number of independently locked segments
+     */
+    public FragmentCache(long maxBytes, int concurrencyLevel) {
+        Validate.isTrue(maxBytes > 0, "maxBytes must be positive!");
+        Validate.isTrue(concurrencyLevel >= 1, "concurrencyLevel must be at least 1!");
+        this.fragments = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher(new Weigher<Key, String>() {
+                    @Override
+                    public int weigh(Key key, String fragment) {
+                        return sizeInBytes(key, fragment);
+                    }
+                })
+                .removalListener(new RemovalListener<Key, String>() {
+                    @Override
+                    public void onRemoval(RemovalNotification<Key, String> notification) {
+                        sizeInBytes.addAndGet(-sizeInBytes(notification.getKey(), notification.getValue()));
+                    }
+                })
+                .concurrencyLevel(concurrencyLevel)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The size of an entry on the heap: Java strings take 2 bytes per char
+     */
+    private static int sizeInBytes(Key key, String fragment) {
+        return 2 * (fragment.length() + key.getItemId().length()) + ENTRY_OVERHEAD;
+    }
+
+    /**
+     * Returns a cached fragment, or renders and caches it if missing.
+     * Concurrent calls with the same missing key wait for a single rendering.
+     *
+     * @param key the key of the fragment
+     * @param renderer renders the fragment if missing
+     * @return the rendered fragment
+     */
+    public String get(final Key key, final Callable<String> renderer) {
+        try {
+            return fragments.get(key, new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    String fragment = renderer.call();
+                    sizeInBytes.addAndGet(sizeInBytes(key, fragment));
+                    return fragment;
+                }
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Removes all the cached fragments
+     */
+    public void invalidateAll() {
+        fragments.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return fragments.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return fragments.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return fragments.stats().evictionCount();
+    }
+
+    /**
+     * Returns the number of cached fragments
+     */
+    public long getSize() {
+        return fragments.size();
+    }
+
+    /**
+     * Returns the approximate total size of the cached fragments, in bytes
+     */
+    public long getSizeInBytes() {
+        return sizeInBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        CacheStats stats = fragments.stats();
+        return String.format("FragmentCache[size=%d, bytes=%d, hits=%d, misses=%d, evictions=%d]",
+                getSize(), getSizeInBytes(), stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+
+    /**
+     * Identifies a rendered fragment: the Swagger source, the item and everything the rendering depends on
+     */
+    public static final class Key {
+
+        private final String specHash;
+        private final String itemType;
+        private final String itemId;
+        private final MarkupLanguage markupLanguage;
+        private final Locale outputLanguage;
+        private final String configFingerprint;
+
+        /**
+         * @param specHash the hash of the content of the Swagger source
+         * @param itemType the type of the item, e.g. {@code operation} or {@code definition}
+         * @param itemId the id of the item
+         * @param markupLanguage the markup language of the fragment
+         * @param outputLanguage the output language of the fragment
+         * @param configFingerprint the fingerprint of the configuration, see {@link Swagger2MarkupConfig#getFingerprint()}
+         */
+        public Key(String specHash, String itemType, String itemId, MarkupLanguage markupLanguage, Locale outputLanguage, String configFingerprint) {
+            this.specHash = specHash;
+            this.itemType = itemType;
+            this.itemId = itemId;
+            this.markupLanguage = markupLanguage;
+            this.outputLanguage = outputLanguage;
+            this.configFingerprint = configFingerprint;
+        }
+
+        public String getSpecHash() {
+            return specHash;
+        }
+
+        public String getItemType() {
+            return itemType;
+        }
+
+        public String getItemId() {
+            return itemId;
+        }
+
+        public MarkupLanguage getMarkupLanguage() {
+            return markupLanguage;
+        }
+
+        public Locale getOutputLanguage() {
+            return outputLanguage;
+        }
+
+        public String getConfigFingerprint() {
+            return configFingerprint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key key = (Key) o;
+            return Objects.equals(specHash, key.specHash) && Objects.equals(itemType, key.itemType) && Objects.equals(itemId, key.itemId)
+                    && markupLanguage == key.markupLanguage && Objects.equals(outputLanguage, key.outputLanguage)
+                    && Objects.equals(configFingerprint, key.configFingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(specHash, itemType, itemId, markupLanguage, outputLanguage, configFingerprint);
+        }
+
+        @Override
+        public String toString() {
+            return itemType + " " + itemId + " (" + markupLanguage + ", " + outputLanguage + ")";
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trie of the paths of operations, keyed by path segment: {@code /orders/{id}/items} is below {@code /orders/{id}}, itself below {@code /orders}.
+ * The trie is built in a single pass over the operations, in time linear in the total length of their paths.
+ * The children of a node are kept in the order of their first operation, so that a depth-first walk
+ * keeps the order of the operations within each subtree.
+ * A trie is not thread-safe while operations are added, but can be read concurrently once built.
+ */
+public class PathTrie {
+
+    private final Node root = new Node("", "/");
+
+    public PathTrie() {
+    }
+
+    /**
+     * Builds the trie of some operations
+     *
+     * @param operations the operations, in the order they should be walked
+     */
+    public PathTrie(Collection<PathOperation> operations) {
+        for (PathOperation operation : operations)
+            add(operation);
+    }
+
+    /**
+     * Adds an operation to the node of its path, creating the missing nodes.
+     * Empty segments, e.g. of a trailing slash, are ignored.
+     *
+     * @param operation the operation
+     */
+    public void add(PathOperation operation) {
+        String path = operation.getPath();
+        Node node = root;
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end == -1)
+                end = path.length();
+            if (end > start)
+                node = node.child(path.substring(start, end));
+            start = end + 1;
+        }
+        node.operations.add(operation);
+    }
+
+    /**
+     * Returns the root node, of the path {@code /}
+     */
+    public Node getRoot() {
+        return root;
+    }
+
+    /**
+     * Groups the operations by resource, i.e. by subtree of a top-level path segment such as {@code /orders}.
+     * Resources are ordered by their first operation, and the operations of a resource are walked depth-first.
+     * The operations of the root path make a resource of their own, {@code /}.
+     *
+     * @return the operations grouped by resource path
+     */
+    public ListMultimap<String, PathOperation> groupByResource() {
+        ImmutableListMultimap.Builder<String, PathOperation> operationsGroupedByResource = ImmutableListMultimap.builder();
+        operationsGroupedByResource.putAll(root.getPath(), root.operations);
+        for (Node resource : root.children.values()) {
+            List<PathOperation> resourceOperations = new ArrayList<>();
+            resource.collectOperations(resourceOperations);
+            operationsGroupedByResource.putAll(resource.getPath(), resourceOperations);
+        }
+        return operationsGroupedByResource.build();
+    }
+
+    /**
+     * A path segment, with the operations of its path and the segments below it
+     */
+    public static class Node {
+
+        private final String segment;
+        private final String path;
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private final List<PathOperation> operations = new ArrayList<>();
+
+        Node(String segment, String path) {
+            this.segment = segment;
+            this.path = path;
+        }
+
+        private Node child(String childSegment) {
+            Node child = children.get(childSegment);
+            if (child == null) {
+                child = new Node(childSegment, (segment.isEmpty() ? "" : path) + "/" + childSegment);
+                children.put(childSegment, child);
+            }
+            return child;
+        }
+
+        private void collectOperations(List<PathOperation> collectedOperations) {
+            collectedOperations.addAll(operations);
+            for (Node child : children.values())
+                child.collectOperations(collectedOperations);
+        }
+
+        public String getSegment() {
+            return segment;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public Collection<Node> getChildren() {
+            return Collections.unmodifiableCollection(children.values());
+        }
+
+        public List<PathOperation> getOperations() {
+            return Collections.unmodifiableList(operations);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.commons.lang3.StringUtils.join;
+
+/**
+ * Thrown before any document is built when the pre-flight validation finds problems.
+ */
+public class PreflightValidationException extends IllegalArgumentException {
+
+    private final List<String> problems;
+
+    /**
+     * @param problems the problems found by the pre-flight validation
+     */
+    public PreflightValidationException(List<String> problems) {
+        super(String.format("Pre-flight validation found %d problem(s):%n- %s", problems.size(), join(problems, String.format("%n- "))));
+        this.problems = Collections.unmodifiableList(problems);
+    }
+
+    /**
+     * Returns all the problems found by the pre-flight validation
+     *
+     * @return the problems
+     */
+    public List<String> getProblems() {
+        return problems;
+    }
+}
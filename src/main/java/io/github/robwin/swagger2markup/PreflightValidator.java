@@ -0,0 +1,119 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.utils.ReferenceUtils;
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.Parameter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Checks a Swagger model against a configuration before any document is built.
+ * All the problems which would stop or degrade the conversion are collected in a single pass over the
+ * operations and the definitions, so that they can be reported at once:
+ * <ul>
+ * <li>operations without tags when the paths are grouped by tags,</li>
+ * <li>references to unknown definitions or global parameters,</li>
+ * <li>examples, descriptions and schemas folders which are not readable directories.</li>
+ * </ul>
+ */
+public class PreflightValidator {
+
+    private final Swagger2MarkupConfig swagger2MarkupConfig;
+    private final Swagger swagger;
+    private final Collection<PathOperation> operations;
+    private final Collection<String> definitionNames;
+
+    /**
+     * @param swagger2MarkupConfig the configuration of the conversion
+     * @param operations the operations to check
+     * @param definitionNames the names of the definitions to check
+     */
+    public PreflightValidator(Swagger2MarkupConfig swagger2MarkupConfig, Collection<PathOperation> operations, Collection<String> definitionNames) {
+        this.swagger2MarkupConfig = swagger2MarkupConfig;
+        this.swagger = swagger2MarkupConfig.getSwagger();
+        this.operations = operations;
+        this.definitionNames = definitionNames;
+    }
+
+    /**
+     * Checks the Swagger model against the configuration
+     *
+     * @return the problems found, empty if the Swagger model can be converted
+     */
+    public List<String> validate() {
+        List<String> problems = new ArrayList<>();
+        Map<String, Model> definitions = swagger.getDefinitions() == null ? Collections.<String, Model>emptyMap() : swagger.getDefinitions();
+        Map<String, Parameter> parameters = swagger.getParameters() == null ? Collections.<String, Parameter>emptyMap() : swagger.getParameters();
+        boolean tagsRequired = swagger2MarkupConfig.getPathsGroupedBy() == GroupBy.TAGS;
+
+        Set<String> references = new LinkedHashSet<>();
+        for (PathOperation operation : operations) {
+            if (tagsRequired && (operation.getOperation().getTags() == null || operation.getOperation().getTags().isEmpty()))
+                problems.add(String.format("Operation '%s' has no tags, which are required to group the paths by tags", operation));
+
+            references.clear();
+            ReferenceUtils.collectReferences(operation.getOperation(), parameters, references);
+            for (String reference : references) {
+                if (!definitions.containsKey(reference) && !parameters.containsKey(reference))
+                    problems.add(String.format("Operation '%s' references the unknown definition or parameter '%s'", operation, reference));
+            }
+        }
+
+        for (String definitionName : definitionNames) {
+            Model model = definitions.get(definitionName);
+            if (model == null)
+                continue;
+
+            references.clear();
+            ReferenceUtils.collectReferences(model, references);
+            for (String reference : references) {
+                if (!definitions.containsKey(reference))
+                    problems.add(String.format("Definition '%s' references the unknown definition '%s'", definitionName, reference));
+            }
+        }
+
+        checkFolder("Examples", swagger2MarkupConfig.getExamplesFolderPath(), problems);
+        checkFolder("Descriptions", swagger2MarkupConfig.getDescriptionsFolderPath(), problems);
+        checkFolder("Schemas", swagger2MarkupConfig.getSchemasFolderPath(), problems);
+        return problems;
+    }
+
+    private void checkFolder(String folderType, String folderPath, List<String> problems) {
+        if (isNotBlank(folderPath)) {
+            Path folder = Paths.get(folderPath);
+            if (!Files.isDirectory(folder) || !Files.isReadable(folder))
+                problems.add(String.format("%s folder '%s' is not a readable directory", folderType, folderPath));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+/**
+ * Receives the progress of the paths and definitions documents of a conversion.
+ * Reports are throttled, except the first and the last report of each document.
+ * With a parallelism greater than 1, reports may come from the rendering workers, but never concurrently.
+ */
+public interface ProgressListener {
+
+    /**
+     * Called when the progress of a document is reported
+     *
+     * @param phase the document being built, {@link DocumentType#PATHS} or {@link DocumentType#DEFINITIONS}
+     * @param completed the number of completed operations or definitions
+     * @param total the total number of operations or definitions of the document
+     */
+    void onProgress(DocumentType phase, int completed, int total);
+}
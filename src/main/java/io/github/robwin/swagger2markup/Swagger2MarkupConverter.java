@@ -19,9 +19,18 @@
 package io.github.robwin.swagger2markup;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
@@ -29,22 +38,37 @@ import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.base.Function;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.hash.Hashing;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Ordering;
 
 import io.github.robwin.markup.builder.MarkupLanguage;
+import io.github.robwin.swagger2markup.builder.document.ConversionContext;
 import io.github.robwin.swagger2markup.builder.document.DefinitionsDocument;
+import io.github.robwin.swagger2markup.builder.document.MarkupDocument;
 import io.github.robwin.swagger2markup.builder.document.OverviewDocument;
 import io.github.robwin.swagger2markup.builder.document.PathsDocument;
 import io.github.robwin.swagger2markup.builder.document.SecurityDocument;
+import io.github.robwin.swagger2markup.builder.document.StreamingOperationRenderer;
 import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.parser.StreamingSwaggerParser;
 import io.github.robwin.swagger2markup.utils.Consumer;
 import io.swagger.models.HttpMethod;
 import io.swagger.models.Swagger;
 import io.swagger.models.parameters.Parameter;
 import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
 
 /**
+ * Converts a Swagger model into markup documents.
+ * The conversion never modifies the Swagger model, so that a Swagger2MarkupConverter, or several converters
+ * sharing the same Swagger model, can be run concurrently from different threads.
+ * Only {@link Builder#preProcessSwagger(Consumer)} modifies the model, when the Builder is configured.
+ *
  * @author Robert Winkler
  */
 public class Swagger2MarkupConverter {
@@ -52,6 +76,38 @@ public class Swagger2MarkupConverter {
 
     private final Swagger2MarkupConfig swagger2MarkupConfig;
 
+    private final Supplier<String> specHash = Suppliers.memoize(new Supplier<String>() {
+        @Override
+        public String get() {
+            try {
+                return Hashing.sha256().hashString(Json.mapper().writeValueAsString(swagger2MarkupConfig.getSwagger()), StandardCharsets.UTF_8).toString();
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize the Swagger model", e);
+            }
+        }
+    });
+
+    private final Supplier<String> configFingerprint = Suppliers.memoize(new Supplier<String>() {
+        @Override
+        public String get() {
+            return swagger2MarkupConfig.getFingerprint();
+        }
+    });
+
+    private final Supplier<Set<String>> prunedDefinitions = Suppliers.memoize(new Supplier<Set<String>>() {
+        @Override
+        public Set<String> get() {
+            return new ConversionContext(swagger2MarkupConfig).getPrunedDefinitionNames();
+        }
+    });
+
+    private final Supplier<ItemDocuments> itemDocuments = Suppliers.memoize(new Supplier<ItemDocuments>() {
+        @Override
+        public ItemDocuments get() {
+            return new ItemDocuments(swagger2MarkupConfig.withoutTimeoutAndFileOutput());
+        }
+    });
+
     /**
      * @param swagger2MarkupConfig the configuration
      */
@@ -97,6 +153,75 @@ public class Swagger2MarkupConverter {
         return new Builder(swagger);
     }
 
+    /**
+     * Creates a Swagger2MarkupConverter.Builder from a given Swagger 2.0 YAML or JSON stream.
+     * The stream is parsed with {@link StreamingSwaggerParser}, which never holds the JSON tree of the whole source,
+     * so that huge sources need less memory than with {@link #from(String)}.
+     * The whole source is parsed before the conversion starts: use {@link #streamIntoFolder(InputStream, String, Function, String)}
+     * to render the operations while the source is parsed.
+     *
+     * @param swaggerInputStream the Swagger YAML or JSON stream, closed when parsed
+     * @return a Swagger2MarkupConverter
+     * @throws java.io.IOException if the stream can not be read or parsed
+     */
+    public static Builder fromStream(InputStream swaggerInputStream) throws IOException {
+        return fromStream(swaggerInputStream, null);
+    }
+
+    /**
+     * Creates a Swagger2MarkupConverter.Builder from a given Swagger 2.0 YAML or JSON stream.
+     *
+     * @param swaggerInputStream the Swagger YAML or JSON stream, closed when parsed
+     * @param swaggerLocation the location of the Swagger source, used to resolve relative references (null = no relative references)
+     * @return a Swagger2MarkupConverter
+     * @throws java.io.IOException if the stream can not be read or parsed
+     */
+    public static Builder fromStream(InputStream swaggerInputStream, String swaggerLocation) throws IOException {
+        Validate.notNull(swaggerInputStream, "Swagger InputStream must not be null!");
+        return new Builder(StreamingSwaggerParser.parse(swaggerInputStream, swaggerLocation));
+    }
+
+    /**
+     * Converts a Swagger 2.0 YAML or JSON stream into markup documents stored in a folder, rendering the operations while the stream is parsed.
+     * The stream is parsed with {@link StreamingSwaggerParser}, and each operation is rendered by the pool of workers of
+     * {@link Builder#withParallelism(int)} as soon as its path is parsed, if the global parameters, global responses and security
+     * definitions it refers to precede the paths in the source. The other operations are rendered once the whole source is parsed.
+     * The operations are only rendered while parsing with a parallelism greater than 1, without separated operation and tag files,
+     * and without {@link Builder#preProcessSwagger(Consumer)}, which needs the whole model.
+     * The configuration is applied to a Builder of the sections preceding the paths and to a Builder of the whole model,
+     * so it must only depend on the model through {@link Builder#preProcessSwagger(Consumer)}.
+     *
+     * @param swaggerInputStream the Swagger YAML or JSON stream, closed when parsed
+     * @param swaggerLocation the location of the Swagger source, used to resolve relative references (null = no relative references)
+     * @param configuration configures the Builder of the conversion, e.g. the markup language and the parallelism
+     * @param targetFolderPath the target folder
+     * @return the converter of the parsed model, e.g. to convert it again
+     * @throws IOException if the stream cannot be read or parsed, or if the files cannot be written
+     */
+    public static Swagger2MarkupConverter streamIntoFolder(InputStream swaggerInputStream, String swaggerLocation,
+                                                           final Function<Builder, Builder> configuration, String targetFolderPath) throws IOException {
+        Validate.notNull(swaggerInputStream, "Swagger InputStream must not be null!");
+        Validate.notNull(configuration, "configuration must not be null!");
+        Validate.notEmpty(targetFolderPath, "folderPath must not be null!");
+        StreamingOperationRenderer operationRenderer = new StreamingOperationRenderer(new Function<Swagger, Swagger2MarkupConfig>() {
+            @Override
+            public Swagger2MarkupConfig apply(Swagger swagger) {
+                Builder builder = configuration.apply(new Builder(swagger, true));
+                return builder.swaggerPreProcessed ? null : builder.build().swagger2MarkupConfig;
+            }
+        }, targetFolderPath);
+        try {
+            Swagger swagger = StreamingSwaggerParser.parse(swaggerInputStream, swaggerLocation, operationRenderer);
+            Swagger2MarkupConverter converter = configuration.apply(new Builder(swagger)).build();
+            ConversionContext conversionContext = new ConversionContext(converter.swagger2MarkupConfig, operationRenderer);
+            converter.preflightValidation(conversionContext);
+            converter.buildDocuments(converter.swagger2MarkupConfig, conversionContext, targetFolderPath);
+            return converter;
+        } finally {
+            operationRenderer.close();
+        }
+    }
+
     /**
      * Builds the document with the given markup language and stores
      * the files in the given folder.
@@ -106,7 +231,120 @@ public class Swagger2MarkupConverter {
      */
     public void intoFolder(String targetFolderPath) throws IOException {
         Validate.notEmpty(targetFolderPath, "folderPath must not be null!");
-        buildDocuments(targetFolderPath);
+        ConversionContext conversionContext = new ConversionContext(swagger2MarkupConfig);
+        preflightValidation(conversionContext);
+        buildDocuments(swagger2MarkupConfig, conversionContext, targetFolderPath);
+    }
+
+    /**
+     * Builds the documents once for each given markup language and stores the files of each
+     * markup language in its own folder.
+     * The work which does not depend on the markup language is done only once for all markup languages.
+     *
+     * @param targetFolderPaths the target folder of each markup language
+     * @throws IOException if the files cannot be written
+     */
+    public void intoFolders(Map<MarkupLanguage, String> targetFolderPaths) throws IOException {
+        Validate.notEmpty(targetFolderPaths, "targetFolderPaths must not be empty!");
+        ConversionContext conversionContext = new ConversionContext(swagger2MarkupConfig);
+        preflightValidation(conversionContext);
+        for (Map.Entry<MarkupLanguage, String> targetFolderPath : targetFolderPaths.entrySet()) {
+            Validate.notEmpty(targetFolderPath.getValue(), "folderPath must not be null!");
+            buildDocuments(swagger2MarkupConfig.withMarkupLanguage(targetFolderPath.getKey()), conversionContext, targetFolderPath.getValue());
+        }
+    }
+
+    /**
+     * Builds the documents once for each given output language and stores the files of each
+     * output language in its own folder.
+     * Only the labels depend on the output language, so the Swagger model is resolved and ordered only once for all output languages.
+     *
+     * @param targetFolderPaths the target folder of each output language
+     * @throws IOException if the files cannot be written
+     */
+    public void intoLocalizedFolders(Map<Locale, String> targetFolderPaths) throws IOException {
+        Validate.notEmpty(targetFolderPaths, "targetFolderPaths must not be empty!");
+        ConversionContext conversionContext = new ConversionContext(swagger2MarkupConfig);
+        preflightValidation(conversionContext);
+        for (Map.Entry<Locale, String> targetFolderPath : targetFolderPaths.entrySet()) {
+            Validate.notEmpty(targetFolderPath.getValue(), "folderPath must not be null!");
+            buildDocuments(swagger2MarkupConfig.withOutputLanguage(targetFolderPath.getKey()), conversionContext, targetFolderPath.getValue());
+        }
+    }
+
+    /**
+     * Regenerates, in a folder built by {@link #intoFolder(String)}, the operations and definitions affected by changed files
+     * of the examples, descriptions and schemas folders, see {@link Swagger2MarkupWatcher}.
+     * With separated operation or definition files, only the files of the affected items are rewritten.
+     * Otherwise the paths or definitions document containing them is rewritten, with its chunks and separated tag files.
+     * Changes of the Swagger source are not detected, they require {@link #intoFolder(String)}.
+     *
+     * @param targetFolderPath the target folder
+     * @param changedFiles the changed files or folders
+     * @return the paths of the rewritten files, relative to the target folder
+     * @throws IOException if the files cannot be written
+     */
+    public Set<String> updateFolder(String targetFolderPath, Collection<java.nio.file.Path> changedFiles) throws IOException {
+        Validate.notEmpty(targetFolderPath, "folderPath must not be null!");
+        ConversionContext conversionContext = new ConversionContext(swagger2MarkupConfig);
+        Set<DocumentType> documents = swagger2MarkupConfig.getDocuments();
+        Set<String> rewrittenFiles = new TreeSet<>();
+
+        if (documents.contains(DocumentType.PATHS)) {
+            try (PathsDocument pathsDocument = new PathsDocument(swagger2MarkupConfig, conversionContext, targetFolderPath)) {
+                Set<PathOperation> operations = pathsDocument.getOperationsAffectedBy(changedFiles);
+                if (!operations.isEmpty() && swagger2MarkupConfig.isSeparatedOperations()) {
+                    for (PathOperation operation : operations)
+                        pathsDocument.writeOperation(operation);
+                } else if (!operations.isEmpty()) {
+                    pathsDocument.build().writeToFile(targetFolderPath, swagger2MarkupConfig.getPathsDocument(), StandardCharsets.UTF_8);
+                }
+                rewrittenFiles.addAll(pathsDocument.getWrittenFiles());
+            }
+        }
+        if (documents.contains(DocumentType.DEFINITIONS)) {
+            try (DefinitionsDocument definitionsDocument = new DefinitionsDocument(swagger2MarkupConfig, conversionContext, targetFolderPath)) {
+                Set<String> definitionNames = definitionsDocument.getDefinitionsAffectedBy(changedFiles);
+                if (!definitionNames.isEmpty() && swagger2MarkupConfig.isSeparatedDefinitions()) {
+                    for (String definitionName : definitionNames)
+                        definitionsDocument.writeDefinition(definitionName);
+                } else if (!definitionNames.isEmpty()) {
+                    definitionsDocument.build().writeToFile(targetFolderPath, swagger2MarkupConfig.getDefinitionsDocument(), StandardCharsets.UTF_8);
+                }
+                rewrittenFiles.addAll(definitionsDocument.getWrittenFiles());
+            }
+        }
+        return rewrittenFiles;
+    }
+
+    /**
+     * Returns the configuration of the converter
+     *
+     * @return the configuration
+     */
+    public Swagger2MarkupConfig getSwagger2MarkupConfig() {
+        return swagger2MarkupConfig;
+    }
+
+    /**
+     * Returns the definitions which are not generated because they are not reachable from the selected operations.
+     * Empty unless the Builder is configured with {@link Builder#withUnreachableDefinitionsPruned()}.
+     * The pruned definitions are computed once per converter.
+     *
+     * @return the pruned definition names
+     */
+    public Set<String> getPrunedDefinitions() {
+        return prunedDefinitions.get();
+    }
+
+    /**
+     * Validates the Swagger model against the configuration without building any document, see {@link PreflightValidator}.
+     *
+     * @return all the problems found, empty if the Swagger model can be converted
+     */
+    public List<String> validate() {
+        ConversionContext conversionContext = new ConversionContext(swagger2MarkupConfig);
+        return new PreflightValidator(swagger2MarkupConfig, conversionContext.getOperations(), conversionContext.getDefinitionNames()).validate();
     }
 
     /**
@@ -120,35 +358,171 @@ public class Swagger2MarkupConverter {
     }
 
     /**
-     * Builds all documents and writes them to a directory
+     * Returns the fingerprint of the configuration of the converter, which does not depend on the Swagger source
      *
+     * @return the fingerprint
+     * @see Swagger2MarkupConfig#getFingerprint()
+     */
+    public String getConfigFingerprint() {
+        return configFingerprint.get();
+    }
+
+    /**
+     * Builds the selected documents and writes them to a directory
+     *
+     * @param swagger2MarkupConfig the configuration of the documents
+     * @param conversionContext the context shared by the documents of the conversion
      * @param directory the directory where the generated file should be stored
      * @throws IOException if a file cannot be written
      */
-    private void buildDocuments(String directory) throws IOException {
-        new OverviewDocument(swagger2MarkupConfig, directory).build().writeToFile(directory, swagger2MarkupConfig.getOverviewDocument(), StandardCharsets.UTF_8);
-        new PathsDocument(swagger2MarkupConfig, directory).build().writeToFile(directory, swagger2MarkupConfig.getPathsDocument(), StandardCharsets.UTF_8);
-        new DefinitionsDocument(swagger2MarkupConfig, directory).build().writeToFile(directory, swagger2MarkupConfig.getDefinitionsDocument(), StandardCharsets.UTF_8);
-        new SecurityDocument(swagger2MarkupConfig, directory).build().writeToFile(directory, swagger2MarkupConfig.getSecurityDocument(), StandardCharsets.UTF_8);
+    private void buildDocuments(Swagger2MarkupConfig swagger2MarkupConfig, ConversionContext conversionContext, String directory) throws IOException {
+        Set<DocumentType> documents = swagger2MarkupConfig.getDocuments();
+        if (documents.contains(DocumentType.OVERVIEW))
+            writeDocument(new OverviewDocument(swagger2MarkupConfig, conversionContext, directory), directory, swagger2MarkupConfig.getOverviewDocument());
+        if (documents.contains(DocumentType.PATHS))
+            writeDocument(new PathsDocument(swagger2MarkupConfig, conversionContext, directory), directory, swagger2MarkupConfig.getPathsDocument());
+        if (documents.contains(DocumentType.DEFINITIONS))
+            writeDocument(new DefinitionsDocument(swagger2MarkupConfig, conversionContext, directory), directory, swagger2MarkupConfig.getDefinitionsDocument());
+        if (documents.contains(DocumentType.SECURITY))
+            writeDocument(new SecurityDocument(swagger2MarkupConfig, conversionContext, directory), directory, swagger2MarkupConfig.getSecurityDocument());
+    }
+
+    /**
+     * Builds a document, writes it to a file and closes it, even if the build fails
+     */
+    private static void writeDocument(MarkupDocument document, String directory, String fileName) throws IOException {
+        try (MarkupDocument closedDocument = document) {
+            closedDocument.build().writeToFile(directory, fileName, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Builds a document, returns it as a String and closes it, even if the build fails
+     */
+    private static String documentAsString(MarkupDocument document) throws IOException {
+        try (MarkupDocument closedDocument = document) {
+            return closedDocument.build().toString();
+        }
+    }
+
+    /**
+     * Validates the Swagger model against the configuration, if the pre-flight validation is enabled
+     *
+     * @param conversionContext the context shared by the documents of the conversion
+     * @throws PreflightValidationException if problems are found
+     */
+    private void preflightValidation(ConversionContext conversionContext) {
+        if (swagger2MarkupConfig.isPreflightValidation()) {
+            List<String> problems = new PreflightValidator(swagger2MarkupConfig, conversionContext.getOperations(), conversionContext.getDefinitionNames()).validate();
+            if (!problems.isEmpty())
+                throw new PreflightValidationException(problems);
+        }
     }
 
     /**
-     * Returns all documents as a String
+     * Renders a single selected operation as a String, with its inline schemas.
+     * The operations are indexed by the first call, which is shared by the next ones, so that each call then only
+     * costs the rendering of the operation. References to definitions are rendered as in {@link #asString()}.
+     * This method is thread-safe. The timeout of the configuration does not apply, and neither do the settings which write files,
+     * i.e. separated definitions, operations and tags and document chunks.
+     *
+     * @param operationKey the operation id, or else the method and the path of the operation, e.g. {@code GET /pets/{petId}}
+     * @return the operation as a String
+     * @throws IllegalArgumentException if there is no such selected operation
+     */
+    public String operationAsString(String operationKey) {
+        final ItemDocuments documents = itemDocuments.get();
+        final PathOperation operation = documents.conversionContext.getOperation(operationKey);
+        Validate.isTrue(operation != null, "Unknown operation: %s", operationKey);
+
+        FragmentCache fragmentCache = swagger2MarkupConfig.getFragmentCache();
+        if (fragmentCache == null)
+            return documents.pathsDocument.renderOperation(operation);
+        return fragmentCache.get(fragmentKey("operation", operation.getId()), new Callable<String>() {
+            @Override
+            public String call() {
+                return documents.pathsDocument.renderOperation(operation);
+            }
+        });
+    }
+
+    /**
+     * Renders a single selected definition as a String, with its inline schemas.
+     * The definitions are indexed by the first call, which is shared by the next ones, so that each call then only
+     * costs the rendering of the definition. References to other definitions are rendered as in {@link #asString()}.
+     * This method is thread-safe. The timeout of the configuration does not apply, and neither do the settings which write files,
+     * i.e. separated definitions, operations and tags and document chunks.
+     *
+     * @param definitionName the name of the definition
+     * @return the definition as a String
+     * @throws IllegalArgumentException if there is no such selected definition, or if it is pruned
+     */
+    public String definitionAsString(final String definitionName) {
+        final ItemDocuments documents = itemDocuments.get();
+        Validate.isTrue(documents.conversionContext.getDefinitionNames().contains(definitionName), "Unknown definition: %s", definitionName);
+
+        FragmentCache fragmentCache = swagger2MarkupConfig.getFragmentCache();
+        if (fragmentCache == null)
+            return documents.definitionsDocument.renderDefinition(definitionName);
+        return fragmentCache.get(fragmentKey("definition", definitionName), new Callable<String>() {
+            @Override
+            public String call() {
+                return documents.definitionsDocument.renderDefinition(definitionName);
+            }
+        });
+    }
+
+    /**
+     * Returns the key of a rendered operation or definition in the fragment cache.
+     * The fingerprint of the configuration is computed once per converter, so that fragments are reused by converters
+     * with the same settings, and never by a converter created after a change of the examples, descriptions or schemas folders.
+     */
+    private FragmentCache.Key fragmentKey(String itemType, String itemId) {
+        return new FragmentCache.Key(specHash.get(), itemType, itemId, swagger2MarkupConfig.getMarkupLanguage(),
+                swagger2MarkupConfig.getOutputLanguage(), configFingerprint.get());
+    }
+
+    /**
+     * Returns the selected documents as a String
      *
      * @return a the document as a String
      */
-    private String buildDocuments() {
+    private String buildDocuments() throws IOException {
+        ConversionContext conversionContext = new ConversionContext(swagger2MarkupConfig);
+        preflightValidation(conversionContext);
+        Set<DocumentType> documents = swagger2MarkupConfig.getDocuments();
         StringBuilder sb = new StringBuilder();
-        sb.append(new OverviewDocument(swagger2MarkupConfig, null).build().toString());
-        sb.append(new PathsDocument(swagger2MarkupConfig, null).build().toString());
-        sb.append(new DefinitionsDocument(swagger2MarkupConfig, null).build().toString());
-        sb.append(new SecurityDocument(swagger2MarkupConfig, null).build().toString());
+        if (documents.contains(DocumentType.OVERVIEW))
+            sb.append(documentAsString(new OverviewDocument(swagger2MarkupConfig, conversionContext, null)));
+        if (documents.contains(DocumentType.PATHS))
+            sb.append(documentAsString(new PathsDocument(swagger2MarkupConfig, conversionContext, null)));
+        if (documents.contains(DocumentType.DEFINITIONS))
+            sb.append(documentAsString(new DefinitionsDocument(swagger2MarkupConfig, conversionContext, null)));
+        if (documents.contains(DocumentType.SECURITY))
+            sb.append(documentAsString(new SecurityDocument(swagger2MarkupConfig, conversionContext, null)));
         return sb.toString();
     }
 
 
+    /**
+     * The documents rendering single operations and definitions, sharing a context which outlives the calls
+     */
+    private static class ItemDocuments {
+        private final ConversionContext conversionContext;
+        private final PathsDocument pathsDocument;
+        private final DefinitionsDocument definitionsDocument;
+
+        ItemDocuments(Swagger2MarkupConfig swagger2MarkupConfig) {
+            this.conversionContext = new ConversionContext(swagger2MarkupConfig);
+            this.pathsDocument = new PathsDocument(swagger2MarkupConfig, conversionContext, null);
+            this.definitionsDocument = new DefinitionsDocument(swagger2MarkupConfig, conversionContext, null);
+        }
+    }
+
     public static class Builder {
         private final Swagger swagger;
+        private boolean partialSwagger;
+        private boolean swaggerPreProcessed;
         private String examplesFolderPath;
         private String schemasFolderPath;
         private String descriptionsFolderPath;
@@ -215,6 +589,23 @@ public class Swagger2MarkupConverter {
         private boolean interDocumentCrossReferences = false;
         private String interDocumentCrossReferencesPrefix = "";
 
+        private Set<DocumentType> documents = EnumSet.allOf(DocumentType.class);
+        private Set<String> selectedTags;
+        private Set<String> selectedPathPrefixes;
+        private Set<String> selectedDefinitions;
+        private boolean pruneUnreachableDefinitions = false;
+        private int spillThreshold = 0;
+        private int parallelism = 1;
+        private CancellationToken cancellationToken;
+        private long timeoutMillis = 0;
+        private ProgressListener progressListener;
+        private boolean summarizedLogging = false;
+        private boolean preflightValidation = false;
+        private boolean separatedTags = false;
+        private int chunkMaxItems = 0;
+        private int chunkMaxBytes = 0;
+        private FragmentCache fragmentCache;
+
 
         /**
          * Creates a Builder using a given Swagger source.
@@ -234,7 +625,18 @@ public class Swagger2MarkupConverter {
          * @param swagger the Swagger source.
          */
         Builder(Swagger swagger) {
+            this(swagger, false);
+        }
+
+        /**
+         * Creates a Builder using a given Swagger model.
+         *
+         * @param swagger the Swagger source.
+         * @param partialSwagger true if the model only holds the sections of the source parsed so far, which must not be pre-processed
+         */
+        private Builder(Swagger swagger, boolean partialSwagger) {
             this.swagger = swagger;
+            this.partialSwagger = partialSwagger;
         }
 
         public Swagger2MarkupConverter build() {
@@ -242,7 +644,10 @@ public class Swagger2MarkupConverter {
                     schemasFolderPath, descriptionsFolderPath, separatedDefinitions, separatedOperations, pathsGroupedBy, definitionsOrderedBy,
                     outputLanguage, inlineSchemaDepthLevel,
                     tagOrdering, operationOrdering, definitionOrdering, parameterOrdering, propertyOrdering, responseOrdering,
-                    interDocumentCrossReferences, interDocumentCrossReferencesPrefix, flatBody, anchorPrefix));
+                    interDocumentCrossReferences, interDocumentCrossReferencesPrefix, flatBody, anchorPrefix,
+                    documents, selectedTags, selectedPathPrefixes, selectedDefinitions, pruneUnreachableDefinitions, spillThreshold, parallelism,
+                    cancellationToken, timeoutMillis, progressListener, summarizedLogging, preflightValidation, separatedTags,
+                    chunkMaxItems, chunkMaxBytes, fragmentCache));
         }
 
         /**
@@ -287,6 +692,18 @@ public class Swagger2MarkupConverter {
             return this;
         }
 
+        /**
+         * In addition to the paths file, also create a separate file for each tag, in a "tags" folder.
+         * The paths file becomes an index linking these files, which are rendered concurrently with {@link #withParallelism(int)}.
+         * Requires paths grouped by {@link GroupBy#TAGS} and an output folder.
+         *
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withSeparatedTags() {
+            this.separatedTags = true;
+            return this;
+        }
+
         /**
          * Include examples into the Paths document
          *
@@ -316,12 +733,14 @@ public class Swagger2MarkupConverter {
          * @return the Swagger2MarkupConverter.Builder
          */
         public Builder preProcessSwagger(Consumer<Swagger> preProcessor) {
-            preProcessor.accept(this.swagger);
+            if (!partialSwagger)
+                preProcessor.accept(this.swagger);
+            swaggerPreProcessed = true;
             return this;
         }
 
         /**
-         * Specifies if the paths should be grouped by tags or stay as-is.
+         * Specifies if the paths should be grouped by tags, by resource path prefix or stay as-is.
          *
          * @param pathsGroupedBy the GroupBy enum
          * @return the Swagger2MarkupConverter.Builder
@@ -499,6 +918,200 @@ public class Swagger2MarkupConverter {
             this.anchorPrefix = anchorPrefix;
             return this;
         }
+
+        /**
+         * Specifies the documents to generate. The other documents are not built at all.
+         * By default, all documents are generated.
+         *
+         * @param documents the documents to generate
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withDocuments(DocumentType... documents) {
+            Validate.notEmpty(documents, "documents must not be empty!");
+            this.documents = EnumSet.of(documents[0], documents);
+            return this;
+        }
+
+        /**
+         * Restricts the operations to the operations having at least one of the given tags.
+         * When paths are grouped by tags, only the given tags are generated.
+         *
+         * @param tags the selected tags
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withSelectedTags(String... tags) {
+            Validate.notEmpty(tags, "tags must not be empty!");
+            this.selectedTags = ImmutableSet.copyOf(tags);
+            return this;
+        }
+
+        /**
+         * Restricts the operations to the operations whose path starts with one of the given prefixes.
+         *
+         * @param pathPrefixes the selected path prefixes
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withSelectedPaths(String... pathPrefixes) {
+            Validate.notEmpty(pathPrefixes, "pathPrefixes must not be empty!");
+            this.selectedPathPrefixes = ImmutableSet.copyOf(pathPrefixes);
+            return this;
+        }
+
+        /**
+         * Restricts the definitions to the given definition names.
+         * The definitions which are not selected are neither rendered nor read from the schemas and descriptions folders.
+         *
+         * @param definitionNames the selected definition names
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withSelectedDefinitions(String... definitionNames) {
+            Validate.notEmpty(definitionNames, "definitionNames must not be empty!");
+            this.selectedDefinitions = ImmutableSet.copyOf(definitionNames);
+            return this;
+        }
+
+        /**
+         * Only generate the definitions reachable from the selected operations, through the references of their
+         * parameters and responses and the references of the reachable definitions.
+         * The pruned definitions are logged and can be retrieved with {@link Swagger2MarkupConverter#getPrunedDefinitions()}.
+         *
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withUnreachableDefinitionsPruned() {
+            this.pruneUnreachableDefinitions = true;
+            return this;
+        }
+
+        /**
+         * Bounds the memory used to build the paths and definitions documents.
+         * The rendered operations and definitions of a document are kept in memory up to the given number of characters,
+         * then spilled to a temporary file which is transferred into the output file when the document is written.
+         *
+         * @param spillThreshold the maximum number of characters kept in memory by a document (0 = no limit)
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withSpillThreshold(int spillThreshold) {
+            Validate.isTrue(spillThreshold >= 0, "spillThreshold must not be negative!");
+            this.spillThreshold = spillThreshold;
+            return this;
+        }
+
+        /**
+         * Renders the operations and definitions of a document with a pool of workers.
+         * The rendered operations and definitions are written in order while the next ones are rendered,
+         * and the number of pending ones is bounded so that the workers cannot get ahead of the writer.
+         * With {@link #streamIntoFolder(InputStream, String, Function, String)}, the workers also render the operations while the Swagger source is parsed,
+         * else the Swagger source is fully parsed before rendering starts.
+         *
+         * @param parallelism the number of workers (1 = rendered by the calling thread)
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withParallelism(int parallelism) {
+            Validate.isTrue(parallelism >= 1, "parallelism must be at least 1!");
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Splits the operations of the paths document and the definitions of the definitions document into chunk files,
+         * named after the document, e.g. paths-1.adoc, paths-2.adoc.
+         * A chunk is closed as soon as the next operation or definition would exceed one of the limits, and holds at least one.
+         * The paths and definitions documents include their chunks with include directives in AsciiDoc, or link them in Markdown.
+         * As Markdown has no include directive, chunks cannot be combined in Markdown with inter-document cross-references to the
+         * definitions document, i.e. without {@link #withSeparatedDefinitions()}.
+         * Requires an output folder. The operations and definitions are still rendered concurrently with {@link #withParallelism(int)}.
+         *
+         * @param maxItems the maximum number of operations or definitions per chunk (0 = no limit)
+         * @param maxBytes the maximum number of bytes per chunk (0 = no limit)
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withChunking(int maxItems, int maxBytes) {
+            Validate.isTrue(maxItems >= 0, "maxItems must not be negative!");
+            Validate.isTrue(maxBytes >= 0, "maxBytes must not be negative!");
+            Validate.isTrue(maxItems > 0 || maxBytes > 0, "maxItems or maxBytes must be positive!");
+            this.chunkMaxItems = maxItems;
+            this.chunkMaxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Caches the operations and definitions rendered by {@link #operationAsString(String)} and {@link #definitionAsString(String)}.
+         * A cache can be shared by several converters: fragments are keyed by the content of the Swagger source, the item,
+         * the markup language, the output language and the fingerprint of the configuration.
+         *
+         * @param fragmentCache the fragment cache
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withFragmentCache(FragmentCache fragmentCache) {
+            Validate.notNull(fragmentCache, "fragmentCache must not be null!");
+            this.fragmentCache = fragmentCache;
+            return this;
+        }
+
+        /**
+         * Allows to cancel the conversions from another thread.
+         * The token is checked between operations, definitions and inline schema levels, and a cancelled conversion
+         * stops with a {@link ConversionCancelledException} telling where it stopped.
+         *
+         * @param cancellationToken the cancellation token
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withCancellationToken(CancellationToken cancellationToken) {
+            Validate.notNull(cancellationToken, "cancellationToken must not be null!");
+            this.cancellationToken = cancellationToken;
+            return this;
+        }
+
+        /**
+         * Bounds the duration of each conversion.
+         * The deadline is checked between operations, definitions and inline schema levels, and a conversion exceeding it
+         * stops with a {@link ConversionCancelledException} telling where it stopped.
+         *
+         * @param timeout the maximum duration of a conversion
+         * @param unit the unit of the timeout
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withTimeout(long timeout, TimeUnit unit) {
+            Validate.isTrue(timeout > 0, "timeout must be positive!");
+            Validate.notNull(unit, "unit must not be null!");
+            this.timeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Reports the total and completed numbers of operations and definitions while the paths and definitions documents are built.
+         * Reports are throttled so that reporting does not slow down the conversion, except the first and the last report of each document.
+         *
+         * @param progressListener the progress listener
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withProgressListener(ProgressListener progressListener) {
+            Validate.notNull(progressListener, "progressListener must not be null!");
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        /**
+         * Logs aggregate counts once per document instead of a message per operation, definition, tag or file.
+         * The per-item messages are still logged, at DEBUG level, or TRACE level for the grouping of operations by tag.
+         *
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withSummarizedLogging() {
+            this.summarizedLogging = true;
+            return this;
+        }
+
+        /**
+         * Validates the Swagger model against the configuration before building any document, see {@link PreflightValidator}.
+         * All the problems found are reported at once with a {@link PreflightValidationException}, and no file is written.
+         *
+         * @return the Swagger2MarkupConverter.Builder
+         */
+        public Builder withPreflightValidation() {
+            this.preflightValidation = true;
+            return this;
+        }
     }
 
 }
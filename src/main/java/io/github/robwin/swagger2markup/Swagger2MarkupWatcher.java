@@ -0,0 +1,296 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableSet;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.swagger.models.Swagger;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+/**
+ * Watches a local Swagger file and the examples, descriptions and schemas folders of the configuration, and regenerates
+ * the documents of a target folder when they change.
+ * <p>
+ * Changes are debounced: they are batched until no change happened during the debounce delay.
+ * A batch containing the Swagger file triggers a full conversion. Otherwise the changed files are mapped to the operations
+ * and definitions whose files they are, and only these are regenerated, see {@link Swagger2MarkupConverter#updateFolder(String, java.util.Collection)}.
+ * The examples, descriptions and schemas folders must exist when the watcher is started.
+ */
+public class Swagger2MarkupWatcher implements Closeable {
+
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 200;
+
+    private static final Logger LOG = LoggerFactory.getLogger(Swagger2MarkupWatcher.class);
+
+    private final Path swaggerFile;
+    private final Function<Swagger2MarkupConverter.Builder, Swagger2MarkupConverter.Builder> configuration;
+    private final String targetFolderPath;
+    private final long debounceMillis;
+    private final Listener listener;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedFolders = new HashMap<>();
+    private final List<Path> sourceFolders = new ArrayList<>();
+    private Swagger swagger;
+    private Thread watcherThread;
+
+    /**
+     * Listens to the regenerations of a watcher
+     */
+    public interface Listener {
+
+        /**
+         * Called by the watcher thread after documents have been regenerated
+         *
+         * @param changedFiles the changed files or folders of the batch
+         * @param fullConversion true if all the documents have been regenerated
+         * @param rewrittenFiles the paths of the rewritten files relative to the target folder, empty after a full conversion
+         */
+        void regenerated(Set<Path> changedFiles, boolean fullConversion, Set<String> rewrittenFiles);
+    }
+
+    /**
+     * Creates a watcher with the default debounce delay. The watcher must be started.
+     *
+     * @param swaggerFilePath the path of the local Swagger file
+     * @param configuration configures the Builder created from the Swagger model, e.g. with the examples, descriptions and schemas folders
+     * @param targetFolderPath the target folder
+     * @throws IOException if the watch service cannot be created
+     */
+    public Swagger2MarkupWatcher(String swaggerFilePath, Function<Swagger2MarkupConverter.Builder, Swagger2MarkupConverter.Builder> configuration,
+                                 String targetFolderPath) throws IOException {
+        this(swaggerFilePath, configuration, targetFolderPath, DEFAULT_DEBOUNCE_MILLIS, null);
+    }
+
+    /**
+     * Creates a watcher. The watcher must be started.
+     *
+     * @param swaggerFilePath the path of the local Swagger file
+     * @param configuration configures the Builder created from the Swagger model, e.g. with the examples, descriptions and schemas folders
+     * @param targetFolderPath the target folder
+     * @param debounceMillis the delay without changes which ends a batch of changes, in milliseconds
+     * @param listener the listener of the regenerations, or null
+     * @throws IOException if the watch service cannot be created
+     */
+    public Swagger2MarkupWatcher(String swaggerFilePath, Function<Swagger2MarkupConverter.Builder, Swagger2MarkupConverter.Builder> configuration,
+                                 String targetFolderPath, long debounceMillis, Listener listener) throws IOException {
+        Validate.notEmpty(swaggerFilePath, "swaggerFilePath must not be empty!");
+        Validate.notNull(configuration, "configuration must not be null!");
+        Validate.notEmpty(targetFolderPath, "folderPath must not be null!");
+        Validate.isTrue(debounceMillis >= 0, "debounceMillis must not be negative!");
+        this.swaggerFile = Paths.get(swaggerFilePath).toAbsolutePath().normalize();
+        Validate.isTrue(Files.isRegularFile(swaggerFile), "Swagger file does not exist: %s", swaggerFile);
+        this.configuration = configuration;
+        this.targetFolderPath = targetFolderPath;
+        this.debounceMillis = debounceMillis;
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Converts the Swagger file into the target folder, then starts watching the changes in a daemon thread
+     *
+     * @throws IOException if the documents cannot be written, or the folders cannot be watched
+     */
+    public synchronized void start() throws IOException {
+        Validate.validState(watcherThread == null, "The watcher is already started!");
+        Swagger2MarkupConverter converter = configuration.apply(Swagger2MarkupConverter.from(swaggerFile.toString())).build();
+        swagger = converter.getSwagger2MarkupConfig().getSwagger();
+        converter.intoFolder(targetFolderPath);
+
+        register(swaggerFile.getParent());
+        Swagger2MarkupConfig config = converter.getSwagger2MarkupConfig();
+        for (String folderPath : new String[]{config.getExamplesFolderPath(), config.getDescriptionsFolderPath(), config.getSchemasFolderPath()}) {
+            if (isNotBlank(folderPath) && Files.isDirectory(Paths.get(folderPath))) {
+                Path sourceFolder = Paths.get(folderPath).toAbsolutePath().normalize();
+                sourceFolders.add(sourceFolder);
+                registerAll(sourceFolder, null);
+            }
+        }
+
+        watcherThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watch();
+            }
+        }, "swagger2markup-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Stops watching the changes
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        watchService.close();
+        if (watcherThread != null)
+            watcherThread.interrupt();
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Path> changedFiles = new LinkedHashSet<>();
+                boolean overflow = false;
+                WatchKey watchKey = watchService.take();
+                while (watchKey != null) {
+                    overflow |= pollEvents(watchKey, changedFiles);
+                    watchKey = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                }
+                regenerate(changedFiles, overflow);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Watcher stopped");
+            }
+        }
+    }
+
+    /**
+     * Collects the changed files of a watched folder, and watches the new folders of the source folders
+     *
+     * @return true if events have been lost
+     */
+    private boolean pollEvents(WatchKey watchKey, Set<Path> changedFiles) {
+        Path folder = watchedFolders.get(watchKey);
+        boolean overflow = false;
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || folder == null) {
+                overflow = true;
+                continue;
+            }
+            Path changedFile = folder.resolve((Path) event.context());
+            if (changedFile.equals(swaggerFile) || isInSourceFolder(changedFile)) {
+                changedFiles.add(changedFile);
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changedFile, LinkOption.NOFOLLOW_LINKS)) {
+                    try {
+                        // Files may have been created before the folder is watched
+                        registerAll(changedFile, changedFiles);
+                    } catch (IOException e) {
+                        if (LOG.isWarnEnabled()) {
+                            LOG.warn(String.format("Failed to watch folder: %s", changedFile), e);
+                        }
+                        overflow = true;
+                    }
+                }
+            }
+        }
+        if (!watchKey.reset())
+            watchedFolders.remove(watchKey);
+        return overflow;
+    }
+
+    private void regenerate(Set<Path> changedFiles, boolean overflow) {
+        boolean fullConversion = overflow || changedFiles.contains(swaggerFile);
+        if (changedFiles.isEmpty() && !fullConversion)
+            return;
+        try {
+            Set<String> rewrittenFiles;
+            if (fullConversion) {
+                Swagger2MarkupConverter converter = configuration.apply(Swagger2MarkupConverter.from(swaggerFile.toString())).build();
+                swagger = converter.getSwagger2MarkupConfig().getSwagger();
+                converter.intoFolder(targetFolderPath);
+                rewrittenFiles = Collections.emptySet();
+            } else {
+                // A new converter reads the changed files, and has a new configuration fingerprint
+                rewrittenFiles = configuration.apply(Swagger2MarkupConverter.from(swagger)).build().updateFolder(targetFolderPath, changedFiles);
+                if (rewrittenFiles.isEmpty())
+                    return;
+            }
+            if (LOG.isInfoEnabled()) {
+                LOG.info("Regenerated {} after changes of {}", fullConversion ? "all documents" : rewrittenFiles, changedFiles);
+            }
+            if (listener != null)
+                listener.regenerated(ImmutableSet.copyOf(changedFiles), fullConversion, rewrittenFiles);
+        } catch (Exception e) {
+            // e.g. a Swagger file which is being saved
+            if (LOG.isWarnEnabled()) {
+                LOG.warn(String.format("Failed to regenerate the documents after changes of %s", changedFiles), e);
+            }
+        }
+    }
+
+    private boolean isInSourceFolder(Path file) {
+        for (Path sourceFolder : sourceFolders) {
+            if (file.startsWith(sourceFolder))
+                return true;
+        }
+        return false;
+    }
+
+    private void register(Path folder) throws IOException {
+        WatchKey watchKey = folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watchedFolders.put(watchKey, folder);
+    }
+
+    /**
+     * Watches a folder and its sub folders
+     *
+     * @param folder the folder
+     * @param files the set receiving the files of the folder, or null
+     */
+    private void registerAll(Path folder, final Set<Path> files) throws IOException {
+        Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                register(dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (files != null)
+                    files.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
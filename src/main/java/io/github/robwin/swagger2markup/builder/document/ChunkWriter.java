@@ -0,0 +1,165 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.document;
+
+import com.google.common.base.Utf8;
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupLanguage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the rendered fragments of a document into chunk files, each holding a bounded number of fragments and bytes.
+ * The content rendered before the first fragment is kept for the master document, which pulls the chunks in
+ * with include directives in AsciiDoc, or links to them otherwise.
+ * At most one chunk is kept in memory.
+ */
+class ChunkWriter implements FragmentSink {
+
+    private final String directory;
+    private final String documentName;
+    private final MarkupDocBuilder docBuilder;
+    private final MarkupLanguage markupLanguage;
+    private final Charset charset;
+    private final int maxFragments;
+    private final int maxBytes;
+    private final StringBuilder header = new StringBuilder();
+    private final StringBuilder chunk = new StringBuilder();
+    private final List<String> chunkFiles = new ArrayList<>();
+    private int chunkFragments;
+    private long chunkBytes;
+
+    /**
+     * @param directory the directory of the master document and of its chunks
+     * @param documentName the name of the master document, without extension
+     * @param docBuilder the docbuilder of the document, used to name the files
+     * @param markupLanguage the markup language of the document
+     * @param charset the charset to use for encoding
+     * @param maxFragments the maximum number of fragments of a chunk (0 = no limit)
+     * @param maxBytes the maximum number of bytes of a chunk (0 = no limit). A chunk holds at least one fragment, whatever its size.
+     */
+    ChunkWriter(String directory, String documentName, MarkupDocBuilder docBuilder, MarkupLanguage markupLanguage, Charset charset,
+                int maxFragments, int maxBytes) {
+        this.directory = directory;
+        this.documentName = documentName;
+        this.docBuilder = docBuilder;
+        this.markupLanguage = markupLanguage;
+        this.charset = charset;
+        this.maxFragments = maxFragments > 0 ? maxFragments : Integer.MAX_VALUE;
+        this.maxBytes = maxBytes > 0 ? maxBytes : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Appends content to the master document, before the chunks
+     *
+     * @param content the rendered content
+     */
+    void appendHeader(String content) {
+        header.append(content);
+    }
+
+    /**
+     * Appends a fragment to the current chunk, writing the current chunk first if the fragment does not fit in
+     *
+     * @param fragment the rendered fragment
+     * @throws IOException if the chunk file cannot be written
+     */
+    @Override
+    public void append(String fragment) throws IOException {
+        int bytes = Utf8.encodedLength(fragment);
+        if (chunkFragments > 0 && (chunkFragments >= maxFragments || chunkBytes + bytes > maxBytes))
+            writeChunk();
+        chunk.append(fragment);
+        chunkFragments++;
+        chunkBytes += bytes;
+    }
+
+    /**
+     * Appends the content rendered after the last fragment to the last chunk, and writes it
+     *
+     * @param content the rendered content
+     * @throws IOException if the chunk file cannot be written
+     */
+    void finish(String content) throws IOException {
+        if (chunkFragments == 0 && chunkFiles.isEmpty()) {
+            header.append(content);
+        } else {
+            chunk.append(content);
+            writeChunk();
+        }
+    }
+
+    private void writeChunk() throws IOException {
+        String chunkFile = docBuilder.addFileExtension(documentName + "-" + (chunkFiles.size() + 1));
+        Path chunkPath = Paths.get(directory, chunkFile);
+        Files.createDirectories(chunkPath.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(chunkPath, charset)) {
+            writer.append(chunk);
+        }
+        chunkFiles.add(chunkFile);
+        chunk.setLength(0);
+        chunkFragments = 0;
+        chunkBytes = 0;
+    }
+
+    /**
+     * Returns the names of the chunk files written so far
+     */
+    List<String> getChunkFiles() {
+        return chunkFiles;
+    }
+
+    /**
+     * Writes the master document to a file
+     *
+     * @param file the output file
+     * @param charset the charset to use for encoding
+     * @throws IOException if the file cannot be written
+     */
+    void writeTo(Path file, Charset charset) throws IOException {
+        if (file.getParent() != null)
+            Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, charset)) {
+            writer.write(toString());
+        }
+    }
+
+    /**
+     * Returns the master document: the header followed by an include directive or a link per chunk
+     */
+    @Override
+    public String toString() {
+        StringBuilder master = new StringBuilder(header);
+        for (String chunkFile : chunkFiles) {
+            if (markupLanguage == MarkupLanguage.ASCIIDOC)
+                master.append("include::").append(chunkFile).append("[]");
+            else
+                master.append("* [").append(chunkFile).append("](").append(chunkFile).append(")");
+            master.append(System.lineSeparator()).append(System.lineSeparator());
+        }
+        return master.toString();
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.document;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Predicates;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.Sets;
+import io.github.robwin.markup.builder.MarkupLanguage;
+import io.github.robwin.swagger2markup.CancellationToken;
+import io.github.robwin.swagger2markup.ConversionCancelledException;
+import io.github.robwin.swagger2markup.DefinitionDependencyIndex;
+import io.github.robwin.swagger2markup.PathOperation;
+import io.github.robwin.swagger2markup.PathTrie;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.type.DefinitionDocumentResolver;
+import io.github.robwin.swagger2markup.type.DefinitionDocumentResolverTable;
+import io.github.robwin.swagger2markup.type.DisplaySchemaCache;
+import io.github.robwin.swagger2markup.utils.ModelUtils;
+import io.github.robwin.swagger2markup.utils.TagUtils;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State shared by all the documents of a single conversion.
+ * Only the operations and definitions selected by the configuration are collected, so that the documents never
+ * process the other ones. When configured, the definitions which are not reachable from the selected operations are pruned.
+ * The documents of a conversion may differ by markup language and output language, so a context only shares
+ * the work which does not depend on them: collecting, ordering and grouping operations, ordering definitions and
+ * flattening definition properties. Work depending on the markup language is cached per markup language.
+ * The timeout of the configuration starts when the context is created.
+ * A context is thread-safe and must not outlive the conversion it has been created for.
+ */
+public class ConversionContext {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConversionContext.class);
+
+    private final Swagger swagger;
+    private final Swagger2MarkupConfig swagger2MarkupConfig;
+    private final CancellationToken cancellationToken;
+    private final boolean deadlineEnabled;
+    private final long deadline;
+    private final StreamingOperationRenderer streamingOperationRenderer;
+
+    private final ConcurrentMap<MarkupLanguage, DisplaySchemaCache> displaySchemaCaches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, DefinitionDocumentResolver> definitionDocumentResolvers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Optional<Map<String, Property>>> allProperties = new ConcurrentHashMap<>();
+
+    private final Supplier<Set<PathOperation>> operations = Suppliers.memoize(new Supplier<Set<PathOperation>>() {
+        @Override
+        public Set<PathOperation> get() {
+            return collectOperations();
+        }
+    });
+
+    private final Supplier<Set<PathOperation>> orderedOperations = Suppliers.memoize(new Supplier<Set<PathOperation>>() {
+        @Override
+        public Set<PathOperation> get() {
+            Comparator<PathOperation> operationOrdering = swagger2MarkupConfig.getOperationOrdering();
+            if (operationOrdering == null)
+                return operations.get();
+
+            SortedSet<PathOperation> sortedOperations = new TreeSet<>(operationOrdering);
+            sortedOperations.addAll(operations.get());
+            return Collections.unmodifiableSortedSet(sortedOperations);
+        }
+    });
+
+    private final Supplier<Multimap<String, PathOperation>> operationsGroupedByTag = Suppliers.memoize(new Supplier<Multimap<String, PathOperation>>() {
+        @Override
+        public Multimap<String, PathOperation> get() {
+            Multimap<String, PathOperation> operationsGroupedByTag = TagUtils.groupOperationsByTag(orderedOperations.get(), swagger.getTags(),
+                    swagger2MarkupConfig.getTagOrdering(), swagger2MarkupConfig.getOperationOrdering(), swagger2MarkupConfig.isSummarizedLogging());
+            Set<String> selectedTags = swagger2MarkupConfig.getSelectedTags();
+            if (selectedTags == null)
+                return operationsGroupedByTag;
+            else
+                return Multimaps.filterKeys(operationsGroupedByTag, Predicates.in(selectedTags));
+        }
+    });
+
+    private final Supplier<Map<String, PathOperation>> operationsByKey = Suppliers.memoize(new Supplier<Map<String, PathOperation>>() {
+        @Override
+        public Map<String, PathOperation> get() {
+            Map<String, PathOperation> operationsByKey = new HashMap<>();
+            for (PathOperation operation : operations.get()) {
+                operationsByKey.put(operation.getMethod() + " " + operation.getPath(), operation);
+            }
+            for (PathOperation operation : operations.get()) {
+                operationsByKey.put(operation.getId(), operation);
+            }
+            return Collections.unmodifiableMap(operationsByKey);
+        }
+    });
+
+    private final Supplier<Multimap<String, PathOperation>> operationsGroupedByResource = Suppliers.memoize(new Supplier<Multimap<String, PathOperation>>() {
+        @Override
+        public Multimap<String, PathOperation> get() {
+            return new PathTrie(orderedOperations.get()).groupByResource();
+        }
+    });
+
+    private final Supplier<DefinitionDependencyIndex> definitionDependencyIndex = Suppliers.memoize(new Supplier<DefinitionDependencyIndex>() {
+        @Override
+        public DefinitionDependencyIndex get() {
+            return new DefinitionDependencyIndex(swagger, operations.get());
+        }
+    });
+
+    private final Supplier<Set<String>> selectedDefinitionNames = Suppliers.memoize(new Supplier<Set<String>>() {
+        @Override
+        public Set<String> get() {
+            Comparator<String> definitionOrdering = swagger2MarkupConfig.getDefinitionOrdering();
+            Set<String> definitionNames;
+            if (definitionOrdering == null)
+                definitionNames = new LinkedHashSet<>();
+            else
+                definitionNames = new TreeSet<>(definitionOrdering);
+            if (swagger.getDefinitions() != null) {
+                Set<String> selectedDefinitions = swagger2MarkupConfig.getSelectedDefinitions();
+                if (selectedDefinitions == null)
+                    definitionNames.addAll(swagger.getDefinitions().keySet());
+                else
+                    definitionNames.addAll(Sets.intersection(swagger.getDefinitions().keySet(), selectedDefinitions));
+            }
+            return Collections.unmodifiableSet(definitionNames);
+        }
+    });
+
+    private final Supplier<Set<String>> prunedDefinitionNames = Suppliers.memoize(new Supplier<Set<String>>() {
+        @Override
+        public Set<String> get() {
+            if (!swagger2MarkupConfig.isPruneUnreachableDefinitions() || swagger.getDefinitions() == null)
+                return Collections.emptySet();
+
+            Set<String> reachableDefinitions = definitionDependencyIndex.get().getTransitiveDefinitionDependencies(operations.get());
+
+            Set<String> prunedDefinitions = new LinkedHashSet<>(selectedDefinitionNames.get());
+            prunedDefinitions.removeAll(reachableDefinitions);
+            if (LOG.isInfoEnabled()) {
+                LOG.info("Pruned {} definitions not reachable from the operations: {}", prunedDefinitions.size(), prunedDefinitions);
+            }
+            return Collections.unmodifiableSet(prunedDefinitions);
+        }
+    });
+
+    private final Supplier<Set<String>> orderedDefinitionNames = Suppliers.memoize(new Supplier<Set<String>>() {
+        @Override
+        public Set<String> get() {
+            Set<String> prunedDefinitions = prunedDefinitionNames.get();
+            if (prunedDefinitions.isEmpty())
+                return selectedDefinitionNames.get();
+
+            Set<String> definitionNames = new LinkedHashSet<>(selectedDefinitionNames.get());
+            definitionNames.removeAll(prunedDefinitions);
+            return Collections.unmodifiableSet(definitionNames);
+        }
+    });
+
+    /**
+     * @param swagger2MarkupConfig the configuration of the conversion. Markup language and output language are not used.
+     */
+    public ConversionContext(Swagger2MarkupConfig swagger2MarkupConfig) {
+        this(swagger2MarkupConfig, null);
+    }
+
+    /**
+     * @param swagger2MarkupConfig the configuration of the conversion. Markup language and output language are not used.
+     * @param streamingOperationRenderer the operations rendered while the Swagger source was parsed (null = none)
+     */
+    public ConversionContext(Swagger2MarkupConfig swagger2MarkupConfig, StreamingOperationRenderer streamingOperationRenderer) {
+        this.swagger = swagger2MarkupConfig.getSwagger();
+        this.swagger2MarkupConfig = swagger2MarkupConfig;
+        this.cancellationToken = swagger2MarkupConfig.getCancellationToken();
+        this.deadlineEnabled = swagger2MarkupConfig.getTimeoutMillis() > 0;
+        this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(swagger2MarkupConfig.getTimeoutMillis());
+        this.streamingOperationRenderer = streamingOperationRenderer;
+    }
+
+    /**
+     * Stops the conversion if it has been cancelled or if it exceeded its timeout.
+     * Documents call it before rendering each operation, definition and inline schema.
+     *
+     * @param itemType the type of the item about to be rendered
+     * @param item the item about to be rendered
+     * @throws ConversionCancelledException if the conversion has been cancelled or exceeded its timeout
+     */
+    public void checkNotCancelled(String itemType, Object item) {
+        if (cancellationToken != null && cancellationToken.isCancelled())
+            throw new ConversionCancelledException(itemType + " " + item, false);
+        if (deadlineEnabled && System.nanoTime() - deadline > 0)
+            throw new ConversionCancelledException(itemType + " " + item, true);
+    }
+
+    /**
+     * Returns the displayed schema cache for a markup language.
+     *
+     * @param markupLanguage the markup language of the document
+     * @return the displayed schema cache
+     */
+    public DisplaySchemaCache getDisplaySchemaCache(MarkupLanguage markupLanguage) {
+        DisplaySchemaCache displaySchemaCache = displaySchemaCaches.get(markupLanguage);
+        if (displaySchemaCache == null) {
+            displaySchemaCache = new DisplaySchemaCache();
+            DisplaySchemaCache previousCache = displaySchemaCaches.putIfAbsent(markupLanguage, displaySchemaCache);
+            if (previousCache != null)
+                displaySchemaCache = previousCache;
+        }
+        return displaySchemaCache;
+    }
+
+    /**
+     * Returns a definition document resolver backed by a table precomputed once per resolver key.
+     *
+     * @param resolverKey identifies the resolution context, including everything the resolved documents depend on
+     * @param resolver the resolver used to compute the table
+     * @param definitionNames the definition names to precompute
+     * @return the table-backed definition document resolver
+     */
+    public DefinitionDocumentResolver getDefinitionDocumentResolver(Object resolverKey, DefinitionDocumentResolver resolver, Collection<String> definitionNames) {
+        DefinitionDocumentResolver definitionDocumentResolver = definitionDocumentResolvers.get(resolverKey);
+        if (definitionDocumentResolver == null) {
+            definitionDocumentResolver = new DefinitionDocumentResolverTable(definitionNames, resolver);
+            DefinitionDocumentResolver previousResolver = definitionDocumentResolvers.putIfAbsent(resolverKey, definitionDocumentResolver);
+            if (previousResolver != null)
+                definitionDocumentResolver = previousResolver;
+        }
+        return definitionDocumentResolver;
+    }
+
+    /**
+     * Returns the selected operations of the Swagger model, ordered with the operation ordering of the configuration.
+     *
+     * @return the ordered operations
+     */
+    public Set<PathOperation> getOperations() {
+        return orderedOperations.get();
+    }
+
+    /**
+     * Returns a selected operation of the Swagger model, looked up in an index built once per context.
+     *
+     * @param operationKey the operation id, or else the method and the path of the operation, e.g. {@code GET /pets/{petId}}
+     * @return the operation, or null if there is no such selected operation
+     */
+    public PathOperation getOperation(String operationKey) {
+        return operationsByKey.get().get(operationKey);
+    }
+
+    /**
+     * Returns the operations rendered while the Swagger source was parsed.
+     *
+     * @return the renderer of the operations, or null if no operation has been rendered while parsing
+     */
+    StreamingOperationRenderer getStreamingOperationRenderer() {
+        return streamingOperationRenderer;
+    }
+
+    /**
+     * Returns the selected operations of the Swagger model grouped by the selected tags, ordered with the tag and operation orderings of the configuration.
+     *
+     * @return the operations grouped by tag
+     */
+    public Multimap<String, PathOperation> getOperationsGroupedByTag() {
+        return operationsGroupedByTag.get();
+    }
+
+    /**
+     * Returns the selected operations of the Swagger model grouped by resource, i.e. by top-level path segment, see {@link PathTrie}.
+     * Within a resource, operations are walked depth-first, in the operation ordering of the configuration.
+     *
+     * @return the operations grouped by resource path
+     */
+    public Multimap<String, PathOperation> getOperationsGroupedByResource() {
+        return operationsGroupedByResource.get();
+    }
+
+    /**
+     * Returns the selected definition names of the Swagger model which are not pruned, ordered with the definition ordering of the configuration.
+     *
+     * @return the ordered definition names
+     */
+    public Set<String> getDefinitionNames() {
+        return orderedDefinitionNames.get();
+    }
+
+    /**
+     * Returns the index of the references between the definitions and the selected operations.
+     *
+     * @return the definition dependency index
+     */
+    public DefinitionDependencyIndex getDefinitionDependencyIndex() {
+        return definitionDependencyIndex.get();
+    }
+
+    /**
+     * Returns the selected definition names which are pruned because they are not reachable from the selected operations.
+     *
+     * @return the pruned definition names, ordered with the definition ordering of the configuration
+     */
+    public Set<String> getPrunedDefinitionNames() {
+        return prunedDefinitionNames.get();
+    }
+
+    /**
+     * Returns all the properties of a definition, including the properties of referenced and composed models.
+     *
+     * @param definitionName the definition name
+     * @return the properties of the definition, or null
+     */
+    public Map<String, Property> getAllProperties(String definitionName) {
+        Optional<Map<String, Property>> properties = allProperties.get(definitionName);
+        if (properties == null) {
+            Map<String, Model> definitions = swagger.getDefinitions();
+            properties = Optional.fromNullable(ModelUtils.getAllProperties(definitions, definitions.get(definitionName)));
+            allProperties.putIfAbsent(definitionName, properties);
+        }
+        return properties.orNull();
+    }
+
+    private Set<PathOperation> collectOperations() {
+        Set<PathOperation> allOperations = new LinkedHashSet<>();
+        Map<String, Path> paths = swagger.getPaths();
+
+        if (paths != null) {
+            for (Map.Entry<String, Path> path : paths.entrySet()) {
+                Map<HttpMethod, Operation> operations = path.getValue().getOperationMap();
+
+                if (operations != null) {
+                    for (Map.Entry<HttpMethod, Operation> operation : operations.entrySet()) {
+                        PathOperation pathOperation = new PathOperation(operation.getKey(), path.getKey(), operation.getValue());
+                        if (isSelected(pathOperation))
+                            allOperations.add(pathOperation);
+                    }
+                }
+            }
+        }
+        return Collections.unmodifiableSet(allOperations);
+    }
+
+    /**
+     * Checks if an operation is selected by the selected path prefixes and tags of the configuration
+     */
+    boolean isSelected(PathOperation pathOperation) {
+        String path = pathOperation.getPath();
+        Operation operation = pathOperation.getOperation();
+        Set<String> selectedPathPrefixes = swagger2MarkupConfig.getSelectedPathPrefixes();
+        if (selectedPathPrefixes != null) {
+            boolean pathSelected = false;
+            for (String selectedPathPrefix : selectedPathPrefixes) {
+                if (path.startsWith(selectedPathPrefix)) {
+                    pathSelected = true;
+                    break;
+                }
+            }
+            if (!pathSelected)
+                return false;
+        }
+
+        Set<String> selectedTags = swagger2MarkupConfig.getSelectedTags();
+        if (selectedTags != null)
+            return operation.getTags() != null && !Collections.disjoint(operation.getTags(), selectedTags);
+
+        return true;
+    }
+}
@@ -18,17 +18,15 @@
  */
 package io.github.robwin.swagger2markup.builder.document;
 
-import com.google.common.collect.ImmutableMap;
 import io.github.robwin.markup.builder.MarkupDocBuilder;
 import io.github.robwin.markup.builder.MarkupDocBuilders;
+import io.github.robwin.swagger2markup.DocumentType;
 import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.type.DefinitionDocumentResolver;
 import io.github.robwin.swagger2markup.type.ObjectType;
 import io.github.robwin.swagger2markup.type.Type;
-import io.swagger.models.ComposedModel;
 import io.swagger.models.Model;
-import io.swagger.models.RefModel;
 import io.swagger.models.properties.Property;
-import io.swagger.models.refs.RefFormat;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.io.FileUtils;
@@ -65,10 +63,16 @@ public class DefinitionsDocument extends MarkupDocument {
     private boolean handWrittenDescriptionsEnabled;
     private String descriptionsFolderPath;
     private final int inlineSchemaDepthLevel;
-    private final Comparator<String> definitionOrdering;
+    private final DefinitionDocumentResolver definitionDocumentResolverDefault;
+    private final DefinitionDocumentResolver definitionDocumentResolverFromDefinition;
+    private ProgressReporter progress;
 
     public DefinitionsDocument(Swagger2MarkupConfig swagger2MarkupConfig, String outputDirectory){
-        super(swagger2MarkupConfig, outputDirectory);
+        this(swagger2MarkupConfig, new ConversionContext(swagger2MarkupConfig), outputDirectory);
+    }
+
+    public DefinitionsDocument(Swagger2MarkupConfig swagger2MarkupConfig, ConversionContext conversionContext, String outputDirectory){
+        super(swagger2MarkupConfig, conversionContext, outputDirectory);
 
         ResourceBundle labels = ResourceBundle.getBundle("lang/labels",
                 swagger2MarkupConfig.getOutputLanguage());
@@ -113,15 +117,78 @@ public class DefinitionsDocument extends MarkupDocument {
                 logger.debug("Create separated definition files is disabled.");
             }
         }
-        this.definitionOrdering = swagger2MarkupConfig.getDefinitionOrdering();
+        this.definitionDocumentResolverDefault = definitionDocumentResolver(new DefinitionDocumentResolverDefault());
+        this.definitionDocumentResolverFromDefinition = definitionDocumentResolver(new DefinitionDocumentResolverFromDefinition());
+        splitIntoChunks(definitionsDocument);
     }
 
     @Override
-    public MarkupDocument build(){
-        definitions(swagger.getDefinitions());
+    public MarkupDocument build() throws IOException {
+        try {
+            definitions(swagger.getDefinitions(), conversionContext.getDefinitionNames());
+            awaitFragments();
+        } finally {
+            closePipeline();
+        }
+        logSummary("Definitions document");
         return this;
     }
 
+    /**
+     * Renders a single definition, with its inline schemas, independently of the other definitions.
+     * The document does not need to be built, and can render definitions concurrently.
+     *
+     * @param definitionName the name of a definition of the Swagger model
+     * @return the rendered definition
+     */
+    public String renderDefinition(String definitionName) {
+        conversionContext.checkNotCancelled("definition", definitionName);
+        MarkupDocBuilder definitionDocBuilder = markupDocBuilder.copy();
+        definition(swagger.getDefinitions(), definitionName, swagger.getDefinitions().get(definitionName), definitionDocBuilder);
+        return definitionDocBuilder.toString();
+    }
+
+    /**
+     * Writes the separated file of a single definition.
+     * The document does not need to be built.
+     *
+     * @param definitionName the name of the definition
+     * @return the path of the definition file, relative to the output directory
+     * @throws IOException if the definition file cannot be written
+     */
+    public String writeDefinition(String definitionName) throws IOException {
+        Validate.isTrue(separatedDefinitionsEnabled, "Separated definition files are disabled!");
+        String definitionDocument = resolveDefinitionDocument(definitionName, markupDocBuilder);
+        writeDefinitionFile(swagger.getDefinitions(), definitionName, swagger.getDefinitions().get(definitionName),
+                new File(outputDirectory, definitionDocument), markupDocBuilder);
+        return definitionDocument;
+    }
+
+    /**
+     * Returns the selected definitions whose hand-written descriptions or schemas are in changed files.
+     * This is the inverse of the lookup of these files: the folder below the descriptions folder is named after
+     * the lower-cased definition name, and the schema files after the definition name.
+     *
+     * @param changedFiles the changed files or folders
+     * @return the names of the affected definitions
+     */
+    public Set<String> getDefinitionsAffectedBy(Collection<java.nio.file.Path> changedFiles) {
+        Set<String> definitionFolders = handWrittenDescriptionsEnabled ? itemFolders(descriptionsFolderPath, changedFiles) : Collections.<String>emptySet();
+        Set<String> schemaFiles = schemasEnabled ? itemFolders(schemasFolderPath, changedFiles) : Collections.<String>emptySet();
+
+        Set<String> definitionNames = new LinkedHashSet<>();
+        if (!definitionFolders.isEmpty() || !schemaFiles.isEmpty()) {
+            for (String definitionName : conversionContext.getDefinitionNames()) {
+                if (!checkThatDefinitionIsNotInIgnoreList(definitionName))
+                    continue;
+                if (definitionFolders.contains(definitionName.toLowerCase())
+                        || schemaFiles.contains(definitionName + JSON_SCHEMA_EXTENSION) || schemaFiles.contains(definitionName + XML_SCHEMA_EXTENSION))
+                    definitionNames.add(definitionName);
+            }
+        }
+        return definitionNames;
+    }
+
     private void addDefinitionsTitle(String title) {
         this.markupDocBuilder.sectionTitleWithAnchorLevel1(title, DEFINITIONS_ANCHOR);
     }
@@ -130,44 +197,54 @@ public class DefinitionsDocument extends MarkupDocument {
      * Builds the Swagger definitions.
      *
      * @param definitions the Swagger definitions
+     * @param definitionNames the ordered definition names
+     * @throws IOException if a definition cannot be buffered
      */
-    private void definitions(Map<String, Model> definitions){
+    private void definitions(Map<String, Model> definitions, Set<String> definitionNames) throws IOException {
         if(MapUtils.isNotEmpty(definitions)){
+            progress = startProgress(DocumentType.DEFINITIONS, definitionNames.size());
             addDefinitionsTitle(DEFINITIONS);
-            Set<String> definitionNames;
-            if (definitionOrdering == null)
-              definitionNames = new LinkedHashSet<>();
-            else
-              definitionNames = new TreeSet<>(definitionOrdering);
-            definitionNames.addAll(definitions.keySet());
             for(String definitionName : definitionNames){
                 Model model = definitions.get(definitionName);
                 if(isNotBlank(definitionName)) {
                     if (checkThatDefinitionIsNotInIgnoreList(definitionName)) {
                         processDefinition(definitions, definitionName, model);
-                        if (logger.isInfoEnabled()) {
-                            logger.info("Definition processed: {}", definitionName);
-                        }
+                        logItemInfo("definitions processed", "Definition processed: {}", definitionName);
                     }else{
                         if (logger.isDebugEnabled()) {
                             logger.debug("Definition was ignored: {}", definitionName);
                         }
+                        progress.completed();
                     }
+                }else{
+                    progress.completed();
                 }
             }
         }
     }
 
+    private void writeDefinitionFile(Map<String, Model> definitions, String definitionName, Model model, File definitionFile, MarkupDocBuilder docBuilder) throws IOException {
+        MarkupDocBuilder defDocBuilder = docBuilder.copy();
+        definition(definitions, definitionName, model, defDocBuilder);
+
+        String definitionDirectory = FilenameUtils.getFullPath(definitionFile.getPath());
+        String definitionFileName = FilenameUtils.getName(definitionFile.getPath());
+
+        defDocBuilder.writeToFileWithoutExtension(definitionDirectory, definitionFileName, StandardCharsets.UTF_8);
+        fileWritten(definitionFile.toPath());
+    }
+
     /**
      * Create the definition filename depending on the generation mode
      * @param definitionName definition name
+     * @param docBuilder the docbuilder do use for output
      * @return definition filename
      */
-    private String resolveDefinitionDocument(String definitionName) {
+    private String resolveDefinitionDocument(String definitionName, MarkupDocBuilder docBuilder) {
         if (separatedDefinitionsEnabled)
-            return new File(separatedDefinitionsFolder, markupDocBuilder.addFileExtension(normalizeFileName(definitionName))).getPath();
+            return new File(separatedDefinitionsFolder, docBuilder.addFileExtension(normalizeFileName(definitionName))).getPath();
         else
-            return markupDocBuilder.addFileExtension(definitionsDocument);
+            return docBuilder.addFileExtension(definitionsDocument);
     }
 
     /**
@@ -175,32 +252,37 @@ public class DefinitionsDocument extends MarkupDocument {
      * @param definitions all available definitions to be able to verify references
      * @param definitionName definition name to process
      * @param model definition model to process
+     * @throws IOException if the definition cannot be buffered
      */
-    private void processDefinition(Map<String, Model> definitions, String definitionName, Model model) {
+    private void processDefinition(final Map<String, Model> definitions, final String definitionName, final Model model) throws IOException {
+        renderFragment(new FragmentRenderer() {
+            @Override
+            public void render(MarkupDocBuilder docBuilder) {
+                processDefinition(definitions, definitionName, model, docBuilder);
+            }
+        });
+    }
+
+    private void processDefinition(Map<String, Model> definitions, String definitionName, Model model, MarkupDocBuilder docBuilder) {
+        conversionContext.checkNotCancelled("definition", definitionName);
 
         if (separatedDefinitionsEnabled) {
-            MarkupDocBuilder defDocBuilder = this.markupDocBuilder.copy();
-            definition(definitions, definitionName, model, defDocBuilder);
-            File definitionFile = new File(outputDirectory, resolveDefinitionDocument(definitionName));
+            File definitionFile = new File(outputDirectory, resolveDefinitionDocument(definitionName, docBuilder));
             try {
-                String definitionDirectory = FilenameUtils.getFullPath(definitionFile.getPath());
-                String definitionFileName = FilenameUtils.getName(definitionFile.getPath());
-
-                defDocBuilder.writeToFileWithoutExtension(definitionDirectory, definitionFileName, StandardCharsets.UTF_8);
+                writeDefinitionFile(definitions, definitionName, model, definitionFile, docBuilder);
             } catch (IOException e) {
                 if (logger.isWarnEnabled()) {
                     logger.warn(String.format("Failed to write definition file: %s", definitionFile), e);
                 }
             }
-            if (logger.isInfoEnabled()) {
-                logger.info("Separate definition file produced: {}", definitionFile);
-            }
+            logItemInfo("separate definition files produced", "Separate definition file produced: {}", definitionFile);
 
-            definitionRef(definitionName, this.markupDocBuilder);
+            definitionRef(definitionName, docBuilder);
 
         } else {
-            definition(definitions, definitionName, model, this.markupDocBuilder);
+            definition(definitions, definitionName, model, docBuilder);
         }
+        progress.completed();
     }
 
     /**
@@ -233,7 +315,7 @@ public class DefinitionsDocument extends MarkupDocument {
      * @param docBuilder the docbuilder do use for output
      */
     private void definitionRef(String definitionName, MarkupDocBuilder docBuilder){
-        addDefinitionTitle(docBuilder.copy().crossReference(new DefinitionDocumentResolverDefault().apply(definitionName), definitionName, definitionName).toString(), "ref-" + definitionName, docBuilder);
+        addDefinitionTitle(docBuilder.copy().crossReference(definitionDocumentResolverDefault.apply(definitionName), definitionName, definitionName).toString(), "ref-" + definitionName, docBuilder);
     }
 
     /**
@@ -262,9 +344,7 @@ public class DefinitionsDocument extends MarkupDocument {
             if(handWrittenDescriptionsEnabled){
                 description = handWrittenPathDescription(type.getName().toLowerCase() + "/" + propertyName.toLowerCase(), DESCRIPTION_FILE_NAME);
                 if(isBlank(description)) {
-                    if (logger.isInfoEnabled()) {
-                        logger.info("Hand-written description file cannot be read. Trying to use description from Swagger source.");
-                    }
+                    logItemInfo("property descriptions taken from the Swagger source", "Hand-written description file cannot be read. Trying to use description from Swagger source.");
                     description = defaultString(property.getDescription());
                 }
             }
@@ -284,41 +364,10 @@ public class DefinitionsDocument extends MarkupDocument {
      * @return a list of inlined types.
      */
     private List<ObjectType> propertiesSection(Map<String, Model> definitions, String definitionName, Model model, MarkupDocBuilder docBuilder){
-        Map<String, Property> properties = getAllProperties(definitions, model);
+        Map<String, Property> properties = conversionContext.getAllProperties(definitionName);
         ObjectType type = new ObjectType(definitionName, properties);
 
-        return typeProperties(type, definitionName, 1, new PropertyDescriptor(type), new DefinitionDocumentResolverFromDefinition(), docBuilder);
-    }
-
-    private Map<String, Property> getAllProperties(Map<String, Model> definitions, Model model) {
-        if(model instanceof RefModel) {
-            RefModel refModel = (RefModel)model;
-            String ref;
-            if(refModel.getRefFormat().equals(RefFormat.INTERNAL)){
-                ref = refModel.getSimpleRef();
-            }else{
-                ref = model.getReference();
-            }
-            return definitions.containsKey(ref)
-                    ? getAllProperties(definitions, definitions.get(ref))
-                    : null;
-        }
-        if(model instanceof ComposedModel) {
-            ComposedModel composedModel = (ComposedModel)model;
-            ImmutableMap.Builder<String, Property> allProperties = ImmutableMap.builder();
-            if(composedModel.getAllOf() != null) {
-                for(Model innerModel : composedModel.getAllOf()) {
-                    Map<String, Property> innerProperties = getAllProperties(definitions, innerModel);
-                    if(innerProperties != null) {
-                        allProperties.putAll(innerProperties);
-                    }
-                }
-            }
-            return allProperties.build();
-        }
-        else {
-            return model.getProperties();
-        }
+        return typeProperties(type, definitionName, 1, new PropertyDescriptor(type), definitionDocumentResolverFromDefinition, docBuilder);
     }
 
     private void descriptionSection(String definitionName, Model model, MarkupDocBuilder docBuilder){
@@ -327,9 +376,7 @@ public class DefinitionsDocument extends MarkupDocument {
             if(isNotBlank(description)){
                 docBuilder.paragraph(description);
             }else{
-                if (logger.isInfoEnabled()) {
-                    logger.info("Hand-written description cannot be read. Trying to use description from Swagger source.");
-                }
+                logItemInfo("definition descriptions taken from the Swagger source", "Hand-written description cannot be read. Trying to use description from Swagger source.");
                 modelDescription(model, docBuilder);
             }
         }
@@ -356,9 +403,7 @@ public class DefinitionsDocument extends MarkupDocument {
         for (String fileNameExtension : markupLanguage.getFileNameExtensions()) {
             java.nio.file.Path path = Paths.get(descriptionsFolderPath, descriptionFolder, descriptionFileName + fileNameExtension);
             if (Files.isReadable(path)) {
-                if (logger.isInfoEnabled()) {
-                    logger.info("Description file processed: {}", path);
-                }
+                logItemInfo("description files processed", "Description file processed: {}", path);
                 try {
                     return FileUtils.readFileToString(path.toFile(), StandardCharsets.UTF_8).trim();
                 } catch (IOException e) {
@@ -372,9 +417,7 @@ public class DefinitionsDocument extends MarkupDocument {
                 }
             }
         }
-        if (logger.isWarnEnabled()) {
-            logger.info("No description file found with correct file name extension in folder: {}", Paths.get(descriptionsFolderPath, descriptionFolder));
-        }
+        logItemInfo("description folders without description file", "No description file found with correct file name extension in folder: {}", Paths.get(descriptionsFolderPath, descriptionFolder));
         return null;
     }
 
@@ -398,9 +441,7 @@ public class DefinitionsDocument extends MarkupDocument {
                     logger.warn(String.format("Failed to read schema file: %s", path), e);
                 }
             }
-            if (logger.isInfoEnabled()) {
-                logger.info("Schema file processed: {}", path);
-            }
+            logItemInfo("schema files processed", "Schema file processed: {}", path);
         } else {
             if (logger.isDebugEnabled()) {
                 logger.debug("Schema file is not readable: {}", path);
@@ -432,8 +473,9 @@ public class DefinitionsDocument extends MarkupDocument {
     private void inlineDefinitions(List<ObjectType> definitions, String uniquePrefix, int depth, MarkupDocBuilder docBuilder) {
         if(CollectionUtils.isNotEmpty(definitions)){
             for (ObjectType definition: definitions) {
+                conversionContext.checkNotCancelled("inline schema", definition.getUniqueName());
                 addInlineDefinitionTitle(definition.getName(), definition.getUniqueName(), docBuilder);
-                List<ObjectType> localDefinitions = typeProperties(definition, uniquePrefix, depth, new DefinitionPropertyDescriptor(definition), new DefinitionDocumentResolverFromDefinition(), docBuilder);
+                List<ObjectType> localDefinitions = typeProperties(definition, uniquePrefix, depth, new DefinitionPropertyDescriptor(definition), definitionDocumentResolverFromDefinition, docBuilder);
                 for (ObjectType localDefinition : localDefinitions)
                     inlineDefinitions(Collections.singletonList(localDefinition), uniquePrefix, depth - 1, docBuilder);
             }
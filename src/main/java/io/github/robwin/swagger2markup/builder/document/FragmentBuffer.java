@@ -0,0 +1,150 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.document;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffers the rendered fragments of a document, keeping at most a given number of characters in memory.
+ * Beyond this threshold, the buffered fragments are spilled to a temporary file, which is transferred
+ * into the output file without going through the heap when the document is written.
+ */
+class FragmentBuffer implements FragmentSink, Closeable {
+
+    private static final Charset SPILL_CHARSET = StandardCharsets.UTF_8;
+
+    private final int spillThreshold;
+    private final StringBuilder buffer = new StringBuilder();
+    private Path spillFile;
+    private Writer spillWriter;
+
+    /**
+     * @param spillThreshold the maximum number of characters kept in memory
+     */
+    FragmentBuffer(int spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    /**
+     * Appends a fragment, spilling the buffered fragments to the temporary file if the threshold is exceeded
+     *
+     * @param fragment the rendered fragment
+     * @throws IOException if the temporary file cannot be written
+     */
+    @Override
+    public void append(String fragment) throws IOException {
+        buffer.append(fragment);
+        if (buffer.length() > spillThreshold)
+            spill();
+    }
+
+    private void spill() throws IOException {
+        if (spillWriter == null) {
+            spillFile = Files.createTempFile("swagger2markup", ".fragments");
+            spillWriter = Files.newBufferedWriter(spillFile, SPILL_CHARSET);
+        }
+        spillWriter.append(buffer);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Writes all the fragments to a file
+     *
+     * @param file the output file
+     * @param charset the charset to use for encoding
+     * @throws IOException if a file cannot be read or written
+     */
+    void writeTo(Path file, Charset charset) throws IOException {
+        if (file.getParent() != null)
+            Files.createDirectories(file.getParent());
+        if (spillWriter != null)
+            spillWriter.flush();
+
+        if (spillWriter != null && !charset.equals(SPILL_CHARSET)) {
+            try (Reader reader = Files.newBufferedReader(spillFile, SPILL_CHARSET);
+                 Writer writer = Files.newBufferedWriter(file, charset)) {
+                char[] chars = new char[8192];
+                int read;
+                while ((read = reader.read(chars)) != -1)
+                    writer.write(chars, 0, read);
+                writer.append(buffer);
+            }
+            return;
+        }
+
+        try (FileChannel output = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            if (spillWriter != null) {
+                try (FileChannel input = FileChannel.open(spillFile, StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = input.size();
+                    while (position < size)
+                        position += input.transferTo(position, size - position, output);
+                }
+            }
+            ByteBuffer bytes = charset.encode(buffer.toString());
+            while (bytes.hasRemaining())
+                output.write(bytes);
+        }
+    }
+
+    /**
+     * Returns all the fragments, reading back the spilled ones
+     */
+    @Override
+    public String toString() {
+        if (spillWriter == null)
+            return buffer.toString();
+
+        try {
+            spillWriter.flush();
+            return new String(Files.readAllBytes(spillFile), SPILL_CHARSET) + buffer;
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Failed to read spilled fragments: %s", spillFile), e);
+        }
+    }
+
+    /**
+     * Deletes the temporary file, if any
+     *
+     * @throws IOException if the temporary file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.setLength(0);
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } finally {
+                Files.deleteIfExists(spillFile);
+                spillWriter = null;
+                spillFile = null;
+            }
+        }
+    }
+}
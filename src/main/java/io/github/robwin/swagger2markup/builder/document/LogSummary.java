@@ -0,0 +1,85 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.document;
+
+import com.google.common.collect.ConcurrentHashMultiset;
+import com.google.common.collect.ImmutableSortedMultiset;
+import com.google.common.collect.Multiset;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.commons.lang3.StringUtils.join;
+
+/**
+ * Counts the per-item log messages of a document in summarized logging mode,
+ * so that they are logged as aggregate counts once the document is built.
+ */
+class LogSummary {
+
+    private final Multiset<String> infoCounts = ConcurrentHashMultiset.create();
+    private final Multiset<String> warnCounts = ConcurrentHashMultiset.create();
+
+    /**
+     * @param summary the summary of a per-item INFO message, e.g. {@code operations processed}
+     */
+    void countInfo(String summary) {
+        infoCounts.add(summary);
+    }
+
+    /**
+     * @param summary the summary of a per-item WARN message, e.g. {@code description files not readable}
+     */
+    void countWarn(String summary) {
+        warnCounts.add(summary);
+    }
+
+    /**
+     * @param summary the counts of another document, added to the counts of this document
+     */
+    void addAll(LogSummary summary) {
+        infoCounts.addAll(summary.infoCounts);
+        warnCounts.addAll(summary.warnCounts);
+    }
+
+    /**
+     * Logs the aggregate counts, INFO messages at INFO level and WARN messages at WARN level, and resets the counts
+     *
+     * @param logger the logger of the document
+     * @param document the name of the document
+     */
+    void log(Logger logger, String document) {
+        if (!infoCounts.isEmpty() && logger.isInfoEnabled()) {
+            logger.info("{}: {}", document, format(infoCounts));
+        }
+        if (!warnCounts.isEmpty() && logger.isWarnEnabled()) {
+            logger.warn("{}: {}", document, format(warnCounts));
+        }
+        infoCounts.clear();
+        warnCounts.clear();
+    }
+
+    private static String format(Multiset<String> counts) {
+        List<String> summaries = new ArrayList<>();
+        for (Multiset.Entry<String> count : ImmutableSortedMultiset.copyOf(counts).entrySet())
+            summaries.add(count.getCount() + " " + count.getElement());
+        return join(summaries, ", ");
+    }
+}
@@ -18,13 +18,21 @@
  */
 package io.github.robwin.swagger2markup.builder.document;
 
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Ordering;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.github.robwin.markup.builder.MarkupDocBuilder;
 import io.github.robwin.markup.builder.MarkupDocBuilders;
 import io.github.robwin.markup.builder.MarkupLanguage;
 import io.github.robwin.markup.builder.MarkupTableColumn;
+import io.github.robwin.swagger2markup.DocumentType;
+import io.github.robwin.swagger2markup.ProgressListener;
 import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
 import io.github.robwin.swagger2markup.type.DefinitionDocumentResolver;
+import io.github.robwin.swagger2markup.type.DisplaySchemaCache;
 import io.github.robwin.swagger2markup.type.ObjectType;
 import io.github.robwin.swagger2markup.type.RefType;
 import io.github.robwin.swagger2markup.type.Type;
@@ -33,13 +41,19 @@ import io.swagger.models.Swagger;
 import io.swagger.models.properties.Property;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.regex.Pattern;
 
 import static org.apache.commons.lang3.StringUtils.defaultString;
@@ -47,7 +61,7 @@ import static org.apache.commons.lang3.StringUtils.defaultString;
 /**
  * @author Robert Winkler
  */
-public abstract class MarkupDocument {
+public abstract class MarkupDocument implements Closeable {
 
     protected static final Pattern FILENAME_FORBIDDEN_PATTERN = Pattern.compile("[^0-9A-Za-z-_]+");
 
@@ -74,9 +88,24 @@ public abstract class MarkupDocument {
     protected boolean useInterDocumentCrossReferences;
     protected String interDocumentCrossReferencesPrefix;
     protected Comparator<String> propertyOrdering;
+    protected ConversionContext conversionContext;
+    protected DisplaySchemaCache displaySchemaCache;
+    private final List<MarkupTableColumn> propertiesTableColumns;
+    private final FragmentBuffer fragmentBuffer;
+    private final int parallelism;
+    private final int chunkMaxItems;
+    private final int chunkMaxBytes;
+    private FragmentSink fragmentSink;
+    private ChunkWriter chunkWriter;
+    private boolean fragmentsStarted;
+    private final ProgressListener progressListener;
+    private final boolean summarizedLogging;
+    private final LogSummary logSummary = new LogSummary();
+    private RenderPipeline renderPipeline;
+    private final Set<String> writtenFiles = Sets.newConcurrentHashSet();
 
 
-    MarkupDocument(Swagger2MarkupConfig swagger2MarkupConfig, String outputDirectory) {
+    MarkupDocument(Swagger2MarkupConfig swagger2MarkupConfig, ConversionContext conversionContext, String outputDirectory) {
         this.swagger = swagger2MarkupConfig.getSwagger();
         this.markupLanguage = swagger2MarkupConfig.getMarkupLanguage();
         this.markupDocBuilder = MarkupDocBuilders.documentBuilder(markupLanguage).withAnchorPrefix(swagger2MarkupConfig.getAnchorPrefix());
@@ -87,6 +116,20 @@ public abstract class MarkupDocument {
         this.useInterDocumentCrossReferences = swagger2MarkupConfig.isInterDocumentCrossReferences();
         this.interDocumentCrossReferencesPrefix = swagger2MarkupConfig.getInterDocumentCrossReferencesPrefix();
         this.propertyOrdering = swagger2MarkupConfig.getPropertyOrdering();
+        this.conversionContext = conversionContext;
+        this.displaySchemaCache = conversionContext.getDisplaySchemaCache(markupLanguage);
+        this.parallelism = swagger2MarkupConfig.getParallelism();
+        this.progressListener = swagger2MarkupConfig.getProgressListener();
+        this.summarizedLogging = swagger2MarkupConfig.isSummarizedLogging();
+        if (swagger2MarkupConfig.getSpillThreshold() > 0)
+            this.fragmentBuffer = new FragmentBuffer(swagger2MarkupConfig.getSpillThreshold());
+        else if (parallelism > 1)
+            this.fragmentBuffer = new FragmentBuffer(Integer.MAX_VALUE);
+        else
+            this.fragmentBuffer = null;
+        this.fragmentSink = fragmentBuffer;
+        this.chunkMaxItems = swagger2MarkupConfig.getChunkMaxItems();
+        this.chunkMaxBytes = swagger2MarkupConfig.getChunkMaxBytes();
 
         ResourceBundle labels = ResourceBundle.getBundle("lang/labels",
                 swagger2MarkupConfig.getOutputLanguage());
@@ -101,6 +144,14 @@ public abstract class MarkupDocument {
         CONSUMES = labels.getString("consumes");
         TAGS = labels.getString("tags");
         NO_CONTENT = labels.getString("no_content");
+
+        // Column specs only depend on the labels, they are shared by all the tables of the document
+        this.propertiesTableColumns = Collections.unmodifiableList(Arrays.asList(
+                new MarkupTableColumn(NAME_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
+                new MarkupTableColumn(DESCRIPTION_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"),
+                new MarkupTableColumn(REQUIRED_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
+                new MarkupTableColumn(SCHEMA_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
+                new MarkupTableColumn(DEFAULT_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1")));
     }
 
     /**
@@ -115,7 +166,12 @@ public abstract class MarkupDocument {
      * Returns a string representation of the document.
      */
     public String toString() {
-        return markupDocBuilder.toString();
+        if (chunkWriter != null)
+            return chunkWriter.toString() + markupDocBuilder.toString();
+        else if (fragmentBuffer == null)
+            return markupDocBuilder.toString();
+        else
+            return fragmentBuffer.toString() + markupDocBuilder.toString();
     }
 
     /**
@@ -127,7 +183,299 @@ public abstract class MarkupDocument {
      * @throws IOException if the file cannot be written
      */
     public void writeToFile(String directory, String fileName, Charset charset) throws IOException {
-        markupDocBuilder.writeToFile(directory, fileName, charset);
+        Path file = Paths.get(directory, markupDocBuilder.addFileExtension(fileName));
+        if (chunkWriter != null) {
+            chunkWriter.finish(markupDocBuilder.toString());
+            markupDocBuilder = markupDocBuilder.copy();
+            chunkWriter.writeTo(file, charset);
+            for (String chunkFile : chunkWriter.getChunkFiles())
+                fileWritten(Paths.get(directory, chunkFile));
+            if (logger.isInfoEnabled()) {
+                logger.info("Document {} split into {} chunks", fileName, chunkWriter.getChunkFiles().size());
+            }
+        } else if (fragmentBuffer == null) {
+            markupDocBuilder.writeToFile(directory, fileName, charset);
+        } else {
+            try {
+                flushFragment();
+                fragmentBuffer.writeTo(file, charset);
+            } finally {
+                fragmentBuffer.close();
+            }
+        }
+        fileWritten(file);
+    }
+
+    /**
+     * Records a file written by the document, see {@link #getWrittenFiles()}.
+     * Can be called by the workers rendering separate files concurrently.
+     *
+     * @param file the written file
+     */
+    protected void fileWritten(Path file) {
+        if (outputDirectory == null)
+            writtenFiles.add(file.toString());
+        else
+            writtenFiles.add(Paths.get(outputDirectory).toAbsolutePath().normalize().relativize(file.toAbsolutePath().normalize()).toString());
+    }
+
+    /**
+     * Returns the files written by the document so far, relative to its output directory, i.e. the document file,
+     * its chunks and its separated tag, operation and definition files.
+     *
+     * @return the written files, sorted
+     */
+    public Set<String> getWrittenFiles() {
+        return ImmutableSortedSet.copyOf(writtenFiles);
+    }
+
+    /**
+     * Releases the resources of the document, i.e. deletes the temporary file of its fragment buffer.
+     * A document must be closed once written or converted to a String, and when its build fails.
+     * Closing a document twice has no effect.
+     *
+     * @throws IOException if the temporary file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        closePipeline();
+        if (fragmentBuffer != null)
+            fragmentBuffer.close();
+    }
+
+    /**
+     * Moves the content of the builder to the fragment buffer, if memory is bounded, and clears the builder.
+     * Documents call it after each rendered operation or definition.
+     *
+     * @throws IOException if the fragment buffer cannot spill to its temporary file
+     */
+    protected void flushFragment() throws IOException {
+        if (fragmentSink != null) {
+            fragmentSink.append(markupDocBuilder.toString());
+            markupDocBuilder = markupDocBuilder.copy();
+        }
+    }
+
+    /**
+     * Splits the operations or definitions of the document into chunk files, if chunking is configured.
+     * The document itself keeps the content rendered before the first operation or definition, and includes the chunks.
+     * Documents call it from their constructor.
+     *
+     * @param documentName the name of the document, without extension
+     */
+    protected void splitIntoChunks(String documentName) {
+        if (chunkMaxItems > 0 || chunkMaxBytes > 0) {
+            Validate.notEmpty(outputDirectory, "Output directory is required for document chunks!");
+            // Without include directives, the anchors of the definitions are in the chunk files, not in the definitions document
+            Validate.isTrue(markupLanguage == MarkupLanguage.ASCIIDOC || !useInterDocumentCrossReferences || separatedDefinitionsEnabled,
+                    "Document chunks with inter-document cross-references to the definitions document require AsciiDoc or separated definitions!");
+            this.chunkWriter = new ChunkWriter(outputDirectory, documentName, markupDocBuilder, markupLanguage, StandardCharsets.UTF_8,
+                    chunkMaxItems, chunkMaxBytes);
+            this.fragmentSink = chunkWriter;
+        }
+    }
+
+    /**
+     * Renders an operation or a definition.
+     * Fragments are rendered in the builder of the document, or with a pool of workers if the parallelism is greater than 1.
+     * In both cases, the fragments are written in the order of the calls.
+     *
+     * @param renderer renders the fragment
+     * @throws IOException if a fragment cannot be rendered or buffered
+     */
+    protected void renderFragment(final FragmentRenderer renderer) throws IOException {
+        startFragments();
+
+        if (parallelism <= 1) {
+            renderer.render(markupDocBuilder);
+            flushFragment();
+        } else {
+            if (renderPipeline == null)
+                renderPipeline = new RenderPipeline(parallelism, fragmentSink);
+            // The content written since the previous fragment, e.g. a tag title, is kept with the fragment
+            final String pendingContent = markupDocBuilder.toString();
+            if (!pendingContent.isEmpty())
+                markupDocBuilder = markupDocBuilder.copy();
+            final MarkupDocBuilder fragmentDocBuilder = markupDocBuilder.copy();
+            renderPipeline.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    renderer.render(fragmentDocBuilder);
+                    return pendingContent + fragmentDocBuilder.toString();
+                }
+            });
+        }
+    }
+
+    /**
+     * Appends an operation or a definition rendered beforehand, e.g. while the Swagger source was parsed.
+     * The fragment is written in the order of the calls, like with {@link #renderFragment(FragmentRenderer)}, which requires a parallelism greater than 1.
+     *
+     * @param renderedFragment the fragment, rendered or being rendered
+     * @throws IOException if a fragment cannot be rendered or buffered
+     */
+    protected void appendRenderedFragment(ListenableFuture<String> renderedFragment) throws IOException {
+        Validate.isTrue(parallelism > 1, "Fragments rendered beforehand require a parallelism greater than 1");
+        startFragments();
+        if (renderPipeline == null)
+            renderPipeline = new RenderPipeline(parallelism, fragmentSink);
+        ListenableFuture<String> fragment = renderedFragment;
+        final String pendingContent = markupDocBuilder.toString();
+        if (!pendingContent.isEmpty()) {
+            markupDocBuilder = markupDocBuilder.copy();
+            fragment = Futures.transform(renderedFragment, new Function<String, String>() {
+                @Override
+                public String apply(String renderedContent) {
+                    return pendingContent + renderedContent;
+                }
+            });
+        }
+        renderPipeline.submit(fragment);
+    }
+
+    private void startFragments() {
+        if (chunkWriter != null && !fragmentsStarted) {
+            chunkWriter.appendHeader(markupDocBuilder.toString());
+            markupDocBuilder = markupDocBuilder.copy();
+        }
+        fragmentsStarted = true;
+    }
+
+    /**
+     * Runs independent rendering tasks, e.g. rendering separate files.
+     * The tasks are run with a pool of workers if the parallelism is greater than 1, else one after the other by the calling thread.
+     *
+     * @param tasks the rendering tasks
+     * @throws IOException if a task fails
+     */
+    protected void renderAll(List<? extends Callable<Void>> tasks) throws IOException {
+        if (parallelism <= 1 || tasks.size() <= 1) {
+            for (Callable<Void> task : tasks) {
+                try {
+                    task.call();
+                } catch (IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        } else {
+            RenderPipeline.runAll(parallelism, tasks);
+        }
+    }
+
+    /**
+     * Starts reporting the progress of the document to the progress listener of the configuration, if any
+     *
+     * @param phase the document being built
+     * @param total the total number of operations or definitions of the document
+     * @return the progress reporter, to be notified of each completed operation or definition
+     */
+    ProgressReporter startProgress(DocumentType phase, int total) {
+        return new ProgressReporter(progressListener, phase, total);
+    }
+
+    /**
+     * Logs a per-item message at INFO level.
+     * In summarized logging mode, the message is logged at DEBUG level and counted in the summary of the document instead.
+     *
+     * @param summary the summary of the message, e.g. {@code operations processed}
+     * @param format the format of the message
+     * @param arguments the arguments of the message
+     */
+    protected void logItemInfo(String summary, String format, Object... arguments) {
+        if (summarizedLogging) {
+            logSummary.countInfo(summary);
+            if (logger.isDebugEnabled()) {
+                logger.debug(format, arguments);
+            }
+        } else if (logger.isInfoEnabled()) {
+            logger.info(format, arguments);
+        }
+    }
+
+    /**
+     * Logs a per-item message at WARN level.
+     * In summarized logging mode, the message is logged at DEBUG level and counted in the summary of the document instead.
+     *
+     * @param summary the summary of the message, e.g. {@code description files not readable}
+     * @param format the format of the message
+     * @param arguments the arguments of the message
+     */
+    protected void logItemWarn(String summary, String format, Object... arguments) {
+        if (summarizedLogging) {
+            logSummary.countWarn(summary);
+            if (logger.isDebugEnabled()) {
+                logger.debug(format, arguments);
+            }
+        } else if (logger.isWarnEnabled()) {
+            logger.warn(format, arguments);
+        }
+    }
+
+    /**
+     * Logs the summary of the per-item messages of the document, in summarized logging mode
+     *
+     * @param document the name of the document
+     */
+    protected void logSummary(String document) {
+        if (summarizedLogging)
+            logSummary.log(logger, document);
+    }
+
+    /**
+     * Adds the per-item messages counted by another document, e.g. a document rendering fragments beforehand, to the summary of this document
+     *
+     * @param document the other document
+     */
+    void addLogSummary(MarkupDocument document) {
+        logSummary.addAll(document.logSummary);
+    }
+
+    /**
+     * Waits for the fragments rendered by the pool of workers, if any, and stops the workers.
+     * Documents call it once all their operations or definitions have been submitted.
+     *
+     * @throws IOException if a fragment cannot be rendered or buffered
+     */
+    protected void awaitFragments() throws IOException {
+        if (renderPipeline != null) {
+            try {
+                renderPipeline.drain();
+            } finally {
+                closePipeline();
+            }
+        }
+    }
+
+    /**
+     * Stops the pool of workers, if any, cancelling the pending fragments.
+     * Documents call it when their build ends, so that the workers are stopped even if the build fails or is cancelled.
+     */
+    protected void closePipeline() {
+        if (renderPipeline != null) {
+            renderPipeline.close();
+            renderPipeline = null;
+        }
+    }
+
+    /**
+     * Returns the names of the files or folders directly below a folder which are, or contain, changed files.
+     * These are the item folders of the changes when the files of an item are looked up in a folder named after the item.
+     *
+     * @param folderPath the folder
+     * @param changedFiles the changed files or folders
+     * @return the names of the item folders
+     */
+    protected static Set<String> itemFolders(String folderPath, Collection<java.nio.file.Path> changedFiles) {
+        java.nio.file.Path folder = Paths.get(folderPath).toAbsolutePath().normalize();
+        Set<String> itemFolders = new HashSet<>();
+        for (java.nio.file.Path changedFile : changedFiles) {
+            java.nio.file.Path file = changedFile.toAbsolutePath().normalize();
+            if (file.startsWith(folder) && file.getNameCount() > folder.getNameCount())
+                itemFolders.add(file.getName(folder.getNameCount()).toString());
+        }
+        return itemFolders;
     }
 
     /**
@@ -143,6 +491,31 @@ public abstract class MarkupDocument {
         return fileName;
     }
 
+    /**
+     * Returns the displayed schema of a type, using the displayed schema cache of the conversion
+     * @param type the type to display
+     * @param docBuilder the docbuilder do use for rendering
+     * @return the displayed schema
+     */
+    protected String displaySchema(Type type, MarkupDocBuilder docBuilder) {
+        return displaySchemaCache.displaySchema(type, docBuilder);
+    }
+
+    /**
+     * Returns a definition document resolver precomputed once per conversion for all the definitions of the Swagger model.
+     * @param resolver the resolver of the resolution context, used to compute the table
+     * @return the table-backed definition document resolver
+     */
+    protected DefinitionDocumentResolver definitionDocumentResolver(DefinitionDocumentResolver resolver) {
+        Collection<String> definitionNames;
+        if (swagger.getDefinitions() == null)
+            definitionNames = Collections.emptySet();
+        else
+            definitionNames = swagger.getDefinitions().keySet();
+
+        return conversionContext.getDefinitionDocumentResolver(Arrays.asList(markupLanguage, resolver.getClass()), resolver, definitionNames);
+    }
+
     /**
      * Build a generic property table for any ObjectType
      * @param type to display
@@ -155,13 +528,6 @@ public abstract class MarkupDocument {
      */
     public List<ObjectType> typeProperties(ObjectType type, String uniquePrefix, int depth, PropertyDescriptor propertyDescriptor, DefinitionDocumentResolver definitionDocumentResolver, MarkupDocBuilder docBuilder) {
         List<ObjectType> localDefinitions = new ArrayList<>();
-        List<List<String>> cells = new ArrayList<>();
-        List<MarkupTableColumn> cols = Arrays.asList(
-                new MarkupTableColumn(NAME_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
-                new MarkupTableColumn(DESCRIPTION_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"),
-                new MarkupTableColumn(REQUIRED_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
-                new MarkupTableColumn(SCHEMA_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
-                new MarkupTableColumn(DEFAULT_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"));
         if (MapUtils.isNotEmpty(type.getProperties())) {
             Set<String> propertyNames;
             if (this.propertyOrdering == null)
@@ -170,6 +536,7 @@ public abstract class MarkupDocument {
                 propertyNames = new TreeSet<>(this.propertyOrdering);
             propertyNames.addAll(type.getProperties().keySet());
 
+            List<List<String>> cells = new ArrayList<>(propertyNames.size());
             for (String propertyName: propertyNames) {
                 Property property = type.getProperties().get(propertyName);
                 Type propertyType = PropertyUtils.getType(property, definitionDocumentResolver);
@@ -187,11 +554,11 @@ public abstract class MarkupDocument {
                         propertyName,
                         propertyDescriptor.getDescription(property, propertyName),
                         Boolean.toString(property.getRequired()),
-                        propertyType.displaySchema(docBuilder),
+                        displaySchema(propertyType, docBuilder),
                         PropertyUtils.getDefaultValue(property));
                 cells.add(content);
             }
-            docBuilder.tableWithColumnSpecs(cols, cells);
+            docBuilder.tableWithColumnSpecs(propertiesTableColumns, cells);
         } else {
             docBuilder.textLine(NO_CONTENT);
         }
@@ -214,6 +581,17 @@ public abstract class MarkupDocument {
         }
     }
 
+    /**
+     * Renders an operation or a definition into a builder
+     */
+    protected interface FragmentRenderer {
+
+        /**
+         * @param docBuilder the docbuilder do use for output
+         */
+        void render(MarkupDocBuilder docBuilder);
+    }
+
     /**
      * Default {@code DefinitionDocumentResolver} functor
      */
@@ -47,7 +47,11 @@ public class OverviewDocument extends MarkupDocument {
     private final String SCHEMES;
 
     public OverviewDocument(Swagger2MarkupConfig swagger2MarkupConfig, String outputDirectory){
-        super(swagger2MarkupConfig, outputDirectory);
+        this(swagger2MarkupConfig, new ConversionContext(swagger2MarkupConfig), outputDirectory);
+    }
+
+    public OverviewDocument(Swagger2MarkupConfig swagger2MarkupConfig, ConversionContext conversionContext, String outputDirectory){
+        super(swagger2MarkupConfig, conversionContext, outputDirectory);
 
         ResourceBundle labels = ResourceBundle.getBundle("lang/labels",
                 swagger2MarkupConfig.getOutputLanguage());
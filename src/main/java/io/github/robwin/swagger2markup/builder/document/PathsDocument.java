@@ -30,6 +30,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
@@ -38,6 +39,7 @@ import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
@@ -50,23 +52,22 @@ import org.apache.commons.lang3.text.WordUtils;
 import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ListenableFuture;
 
 import io.github.robwin.markup.builder.MarkupDocBuilder;
 import io.github.robwin.markup.builder.MarkupDocBuilders;
 import io.github.robwin.markup.builder.MarkupLanguage;
 import io.github.robwin.markup.builder.MarkupTableColumn;
+import io.github.robwin.swagger2markup.DocumentType;
 import io.github.robwin.swagger2markup.GroupBy;
 import io.github.robwin.swagger2markup.PathOperation;
 import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.type.DefinitionDocumentResolver;
 import io.github.robwin.swagger2markup.type.ObjectType;
 import io.github.robwin.swagger2markup.type.RefType;
 import io.github.robwin.swagger2markup.type.Type;
 import io.github.robwin.swagger2markup.utils.ParameterUtils;
 import io.github.robwin.swagger2markup.utils.PropertyUtils;
-import io.github.robwin.swagger2markup.utils.TagUtils;
-import io.swagger.models.HttpMethod;
-import io.swagger.models.Operation;
-import io.swagger.models.Path;
 import io.swagger.models.Response;
 import io.swagger.models.Tag;
 import io.swagger.models.auth.SecuritySchemeDefinition;
@@ -107,17 +108,27 @@ public class PathsDocument extends MarkupDocument {
     private final GroupBy pathsGroupedBy;
     private final int inlineSchemaDepthLevel;
     private final Comparator<String> tagOrdering;
-    private final Comparator<PathOperation> operationOrdering;
     private final Comparator<Parameter> parameterOrdering;
     private final Comparator<String> responseOrdering;
     private boolean separatedOperationsEnabled;
     private String separatedOperationsFolder;
+    private boolean separatedTagsEnabled;
+    private String separatedTagsFolder;
     private String pathsDocument;
     private final boolean flatBody;
+    private final DefinitionDocumentResolver definitionDocumentResolverFromOperation;
+    private final List<MarkupTableColumn> parametersTableColumns;
+    private final List<MarkupTableColumn> securityTableColumns;
+    private final List<MarkupTableColumn> responsesTableColumns;
+    private ProgressReporter progress;
 
 
     public PathsDocument(Swagger2MarkupConfig swagger2MarkupConfig, String outputDirectory){
-        super(swagger2MarkupConfig, outputDirectory);
+        this(swagger2MarkupConfig, new ConversionContext(swagger2MarkupConfig), outputDirectory);
+    }
+
+    public PathsDocument(Swagger2MarkupConfig swagger2MarkupConfig, ConversionContext conversionContext, String outputDirectory){
+        super(swagger2MarkupConfig, conversionContext, outputDirectory);
 
         ResourceBundle labels = ResourceBundle.getBundle("lang/labels",
 
@@ -137,6 +148,22 @@ public class PathsDocument extends MarkupDocument {
         HTTP_CODE_COLUMN = labels.getString("http_code_column");
         PARAMETER = labels.getString("parameter");
 
+        this.parametersTableColumns = Collections.unmodifiableList(Arrays.asList(
+                new MarkupTableColumn(TYPE_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
+                new MarkupTableColumn(NAME_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
+                new MarkupTableColumn(DESCRIPTION_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"),
+                new MarkupTableColumn(REQUIRED_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
+                new MarkupTableColumn(SCHEMA_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
+                new MarkupTableColumn(DEFAULT_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1")));
+        this.securityTableColumns = Collections.unmodifiableList(Arrays.asList(
+                new MarkupTableColumn(TYPE_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
+                new MarkupTableColumn(NAME_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
+                new MarkupTableColumn(SCOPES_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6")));
+        this.responsesTableColumns = Collections.unmodifiableList(Arrays.asList(
+                new MarkupTableColumn(HTTP_CODE_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
+                new MarkupTableColumn(DESCRIPTION_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"),
+                new MarkupTableColumn(SCHEMA_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1")));
+
         this.pathsDocument = swagger2MarkupConfig.getPathsDocument();
         this.inlineSchemaDepthLevel = swagger2MarkupConfig.getInlineSchemaDepthLevel();
         this.pathsGroupedBy = swagger2MarkupConfig.getPathsGroupedBy();
@@ -180,12 +207,22 @@ public class PathsDocument extends MarkupDocument {
                 logger.debug("Create separated operation files is disabled.");
             }
         }
+        this.separatedTagsEnabled = swagger2MarkupConfig.isSeparatedTags();
+        this.separatedTagsFolder = swagger2MarkupConfig.getSeparatedTagsFolder();
+        if(this.separatedTagsEnabled){
+            if (logger.isDebugEnabled()) {
+                logger.debug("Create separated tag files is enabled.");
+            }
+            Validate.notEmpty(outputDirectory, "Output directory is required for separated tag files!");
+            Validate.isTrue(pathsGroupedBy == GroupBy.TAGS, "Separated tag files require paths grouped by tags!");
+        }
         this.tagOrdering = swagger2MarkupConfig.getTagOrdering();
-        this.operationOrdering = swagger2MarkupConfig.getOperationOrdering();
         this.parameterOrdering = swagger2MarkupConfig.getParameterOrdering();
         this.responseOrdering = swagger2MarkupConfig.getResponseOrdering();
 
         this.flatBody = swagger2MarkupConfig.isFlatBody();
+        this.definitionDocumentResolverFromOperation = definitionDocumentResolver(new DefinitionDocumentResolverFromOperation());
+        splitIntoChunks(pathsDocument);
     }
 
     /**
@@ -194,11 +231,33 @@ public class PathsDocument extends MarkupDocument {
      * @return the the paths markup document
      */
     @Override
-    public MarkupDocument build(){
-        operations();
+    public MarkupDocument build() throws IOException {
+        try {
+            operations();
+            awaitFragments();
+        } finally {
+            closePipeline();
+        }
+        if (conversionContext.getStreamingOperationRenderer() != null)
+            conversionContext.getStreamingOperationRenderer().addLogSummary(this);
+        logSummary("Paths document");
         return this;
     }
 
+    /**
+     * Renders a single operation, with its inline schemas, independently of the other operations.
+     * The document does not need to be built, and can render operations concurrently.
+     *
+     * @param operation the operation
+     * @return the rendered operation
+     */
+    public String renderOperation(PathOperation operation) {
+        conversionContext.checkNotCancelled("operation", operation);
+        MarkupDocBuilder operationDocBuilder = markupDocBuilder.copy();
+        operation(operation, operationDocBuilder);
+        return operationDocBuilder.toString();
+    }
+
     private void addPathsTitle(String title) {
         this.markupDocBuilder.sectionTitleWithAnchorLevel1(title, PATHS_ANCHOR);
     }
@@ -206,54 +265,54 @@ public class PathsDocument extends MarkupDocument {
     /**
      * Builds all operations of the Swagger model. Either grouped as-is or by tags.
      */
-    private void operations(){
-        Set<PathOperation> allOperations = new LinkedHashSet<>();
-        Map<String, Path> paths = swagger.getPaths();
-
-        if (paths != null) {
-            for (Map.Entry<String, Path> path : paths.entrySet()) {
-                Map<HttpMethod, Operation> operations = path.getValue().getOperationMap();
-
-                if (operations != null) {
-                    for (Map.Entry<HttpMethod, Operation> operation : operations.entrySet()) {
-                        allOperations.add(new PathOperation(operation.getKey(), path.getKey(), operation.getValue()));
-                    }
-                }
-            }
-        }
+    private void operations() throws IOException {
+        Set<PathOperation> allOperations = conversionContext.getOperations();
 
         if (allOperations.size() > 0) {
 
             if (pathsGroupedBy == GroupBy.AS_IS) {
+                progress = startProgress(DocumentType.PATHS, allOperations.size());
                 addPathsTitle(PATHS);
 
-                if (this.operationOrdering != null) {
-                    Set<PathOperation> sortedOperations = new TreeSet<>(this.operationOrdering);
-                    sortedOperations.addAll(allOperations);
-                    allOperations = sortedOperations;
-                }
-
                 for (PathOperation operation : allOperations) {
                     processOperation(operation);
                 }
 
 
+            } else if (pathsGroupedBy == GroupBy.RESOURCE_TREE) {
+                addPathsTitle(RESOURCES);
+
+                Multimap<String, PathOperation> operationsGroupedByResource = conversionContext.getOperationsGroupedByResource();
+                progress = startProgress(DocumentType.PATHS, operationsGroupedByResource.size());
+
+                for (String resourcePath : operationsGroupedByResource.keySet()) {
+                    this.markupDocBuilder.sectionTitleLevel2(resourcePath);
+
+                    for (PathOperation operation : operationsGroupedByResource.get(resourcePath)) {
+                        processOperation(operation);
+                    }
+                }
             } else {
                 addPathsTitle(RESOURCES);
 
-                Multimap<String, PathOperation> operationsGroupedByTag = TagUtils.groupOperationsByTag(allOperations, tagOrdering, operationOrdering);
+                Multimap<String, PathOperation> operationsGroupedByTag = conversionContext.getOperationsGroupedByTag();
+                progress = startProgress(DocumentType.PATHS, operationsGroupedByTag.size());
 
                 Map<String, Tag> tagsMap = convertTagsListToMap(swagger.getTags());
-                for (String tagName : operationsGroupedByTag.keySet()) {
-                    this.markupDocBuilder.sectionTitleLevel2(WordUtils.capitalize(tagName));
-
-                    Optional<String> tagDescription = getTagDescription(tagsMap, tagName);
-                    if (tagDescription.isPresent()) {
-                        this.markupDocBuilder.paragraph(tagDescription.get());
+                if (separatedTagsEnabled) {
+                    List<Callable<Void>> tagTasks = new ArrayList<>();
+                    for (String tagName : operationsGroupedByTag.keySet()) {
+                        tagRef(tagName, tagsMap);
+                        tagTasks.add(processTag(tagName, tagsMap, operationsGroupedByTag.get(tagName)));
                     }
+                    renderAll(tagTasks);
+                } else {
+                    for (String tagName : operationsGroupedByTag.keySet()) {
+                        tagTitle(tagName, tagsMap, this.markupDocBuilder);
 
-                    for (PathOperation operation : operationsGroupedByTag.get(tagName)) {
-                        processOperation(operation);
+                        for (PathOperation operation : operationsGroupedByTag.get(tagName)) {
+                            processOperation(operation);
+                        }
                     }
                 }
             }
@@ -261,53 +320,198 @@ public class PathsDocument extends MarkupDocument {
 
     }
 
+    /**
+     * Adds the tag title and the tag description, if any, to the document.
+     *
+     * @param tagName the name of the tag
+     * @param tagsMap the tags of the Swagger model by name
+     * @param docBuilder the docbuilder do use for output
+     */
+    private void tagTitle(String tagName, Map<String, Tag> tagsMap, MarkupDocBuilder docBuilder) {
+        docBuilder.sectionTitleLevel2(WordUtils.capitalize(tagName));
+        tagDescription(tagName, tagsMap, docBuilder);
+    }
+
+    private void tagDescription(String tagName, Map<String, Tag> tagsMap, MarkupDocBuilder docBuilder) {
+        Optional<String> tagDescription = getTagDescription(tagsMap, tagName);
+        if (tagDescription.isPresent()) {
+            docBuilder.paragraph(tagDescription.get());
+        }
+    }
+
+    /**
+     * Create the tag filename, relative to the output directory
+     * @param tagName the name of the tag
+     * @param docBuilder the docbuilder do use for output
+     * @return tag filename
+     */
+    private String resolveTagDocument(String tagName, MarkupDocBuilder docBuilder) {
+        return new File(this.separatedTagsFolder, docBuilder.addFileExtension(normalizeFileName(tagName))).getPath();
+    }
+
+    /**
+     * Builds a cross-reference to a separated tag file, followed by the tag description
+     * @param tagName the name of the tag
+     * @param tagsMap the tags of the Swagger model by name
+     */
+    private void tagRef(String tagName, Map<String, Tag> tagsMap) {
+        String document = resolveTagDocument(tagName, markupDocBuilder);
+        String title = WordUtils.capitalize(tagName);
+
+        markupDocBuilder.sectionTitleWithAnchorLevel2(markupDocBuilder.copy().crossReference(document, title, title).toString(), "ref-" + tagName);
+        tagDescription(tagName, tagsMap, markupDocBuilder);
+    }
+
+    /**
+     * Creates the task rendering the operations of a tag into a separated tag file.
+     * The tasks of the different tags are independent and can be run concurrently.
+     *
+     * @param tagName the name of the tag
+     * @param tagsMap the tags of the Swagger model by name
+     * @param operations the operations of the tag
+     * @return the rendering task
+     */
+    private Callable<Void> processTag(final String tagName, final Map<String, Tag> tagsMap, final Collection<PathOperation> operations) {
+        return new Callable<Void>() {
+            @Override
+            public Void call() {
+                MarkupDocBuilder tagDocBuilder = markupDocBuilder.copy();
+                tagTitle(tagName, tagsMap, tagDocBuilder);
+                for (PathOperation operation : operations) {
+                    processOperation(operation, tagDocBuilder);
+                }
+                File tagFile = new File(outputDirectory, resolveTagDocument(tagName, tagDocBuilder));
+
+                try {
+                    String tagDirectory = FilenameUtils.getFullPath(tagFile.getPath());
+                    String tagFileName = FilenameUtils.getName(tagFile.getPath());
+
+                    tagDocBuilder.writeToFileWithoutExtension(tagDirectory, tagFileName, StandardCharsets.UTF_8);
+                    fileWritten(tagFile.toPath());
+                } catch (IOException e) {
+                    if (logger.isWarnEnabled()) {
+                        logger.warn(String.format("Failed to write tag file: %s", tagFile), e);
+                    }
+                }
+                logItemInfo("separate tag files produced", "Separate tag file produced: {}", tagFile);
+                return null;
+            }
+        };
+    }
+
     /**
      * Create the operation filename depending on the generation mode
      * @param operation operation
+     * @param docBuilder the docbuilder do use for output
      * @return operation filename
      */
-    private String resolveOperationDocument(PathOperation operation) {
+    private String resolveOperationDocument(PathOperation operation, MarkupDocBuilder docBuilder) {
         if (this.separatedOperationsEnabled)
-            return new File(this.separatedOperationsFolder, this.markupDocBuilder.addFileExtension(normalizeFileName(operation.getId()))).getPath();
+            return new File(this.separatedOperationsFolder, docBuilder.addFileExtension(normalizeFileName(operation.getId()))).getPath();
         else
-            return this.markupDocBuilder.addFileExtension(this.pathsDocument);
+            return docBuilder.addFileExtension(this.pathsDocument);
     }
 
     /**
      * Generate operations depending on the generation mode.
+     * An operation rendered while the Swagger source was parsed is written as it is.
      * @param operation operation
+     * @throws IOException if the operation cannot be buffered
      */
-    private void processOperation(PathOperation operation) {
+    private void processOperation(final PathOperation operation) throws IOException {
+        StreamingOperationRenderer streamingOperationRenderer = conversionContext.getStreamingOperationRenderer();
+        ListenableFuture<String> renderedOperation = streamingOperationRenderer == null || separatedOperationsEnabled ? null
+                : streamingOperationRenderer.getRenderedOperation(operation);
+        if (renderedOperation != null) {
+            conversionContext.checkNotCancelled("operation", operation);
+            appendRenderedFragment(renderedOperation);
+            logItemInfo("operations processed", "Operation processed: {}", operation);
+            progress.completed();
+            return;
+        }
+        renderFragment(new FragmentRenderer() {
+            @Override
+            public void render(MarkupDocBuilder docBuilder) {
+                processOperation(operation, docBuilder);
+            }
+        });
+    }
+
+    private void processOperation(PathOperation operation, MarkupDocBuilder docBuilder) {
+        conversionContext.checkNotCancelled("operation", operation);
         if (separatedOperationsEnabled) {
-            MarkupDocBuilder pathDocBuilder = this.markupDocBuilder.copy();
-            operation(operation, pathDocBuilder);
-            File operationFile = new File(outputDirectory, resolveOperationDocument(operation));
+            File operationFile = new File(outputDirectory, resolveOperationDocument(operation, docBuilder));
 
             try {
-                String operationDirectory = FilenameUtils.getFullPath(operationFile.getPath());
-                String operationFileName = FilenameUtils.getName(operationFile.getPath());
-
-                pathDocBuilder.writeToFileWithoutExtension(operationDirectory, operationFileName, StandardCharsets.UTF_8);
+                writeOperationFile(operation, operationFile, docBuilder);
             } catch (IOException e) {
                 if (logger.isWarnEnabled()) {
                     logger.warn(String.format("Failed to write operation file: %s", operationFile), e);
                 }
             }
-            if (logger.isInfoEnabled()) {
-                logger.info("Separate operation file produced: {}", operationFile);
-            }
+            logItemInfo("separate operation files produced", "Separate operation file produced: {}", operationFile);
 
-            operationRef(operation, this.markupDocBuilder);
+            operationRef(operation, docBuilder);
 
         } else {
-            operation(operation, this.markupDocBuilder);
+            operation(operation, docBuilder);
         }
 
-        if (logger.isInfoEnabled()) {
-            logger.info("Operation processed: {}", operation);
-        }
+        logItemInfo("operations processed", "Operation processed: {}", operation);
+        progress.completed();
+    }
+
+
+    private void writeOperationFile(PathOperation operation, File operationFile, MarkupDocBuilder docBuilder) throws IOException {
+        MarkupDocBuilder pathDocBuilder = docBuilder.copy();
+        operation(operation, pathDocBuilder);
+
+        String operationDirectory = FilenameUtils.getFullPath(operationFile.getPath());
+        String operationFileName = FilenameUtils.getName(operationFile.getPath());
+
+        pathDocBuilder.writeToFileWithoutExtension(operationDirectory, operationFileName, StandardCharsets.UTF_8);
+        fileWritten(operationFile.toPath());
+    }
+
+    /**
+     * Writes the separated file of a single operation.
+     * The document does not need to be built.
+     *
+     * @param operation the operation
+     * @return the path of the operation file, relative to the output directory
+     * @throws IOException if the operation file cannot be written
+     */
+    public String writeOperation(PathOperation operation) throws IOException {
+        Validate.isTrue(separatedOperationsEnabled, "Separated operation files are disabled!");
+        String operationDocument = resolveOperationDocument(operation, markupDocBuilder);
+        writeOperationFile(operation, new File(outputDirectory, operationDocument), markupDocBuilder);
+        return operationDocument;
     }
 
+    /**
+     * Returns the selected operations whose hand-written descriptions or examples are in changed files.
+     * This is the inverse of the lookup of these files: the folder below the descriptions or examples folder
+     * is named after the normalized id or title of the operation.
+     *
+     * @param changedFiles the changed files or folders
+     * @return the affected operations
+     */
+    public Set<PathOperation> getOperationsAffectedBy(Collection<java.nio.file.Path> changedFiles) {
+        Set<String> operationFolders = new TreeSet<>();
+        if (handWrittenDescriptionsEnabled)
+            operationFolders.addAll(itemFolders(descriptionsFolderPath, changedFiles));
+        if (examplesEnabled)
+            operationFolders.addAll(itemFolders(examplesFolderPath, changedFiles));
+
+        Set<PathOperation> operations = new LinkedHashSet<>();
+        if (!operationFolders.isEmpty()) {
+            for (PathOperation operation : conversionContext.getOperations()) {
+                if (operationFolders.contains(normalizeFileName(operation.getId())) || operationFolders.contains(normalizeFileName(operation.getTitle())))
+                    operations.add(operation);
+            }
+        }
+        return operations;
+    }
 
     /**
      * Returns the operation name depending on available informations.
@@ -346,7 +550,9 @@ public class PathsDocument extends MarkupDocument {
      * @param docBuilder the docbuilder do use for output
      */
     private void operationRef(PathOperation operation, MarkupDocBuilder docBuilder) {
-        String document = resolveOperationDocument(operation);
+        String document = resolveOperationDocument(operation, docBuilder);
+        if (separatedTagsEnabled)
+            document = new File("..", document).getPath();
         String operationName = operationName(operation);
 
         addOperationTitle(docBuilder.copy().crossReference(document, operationName, operationName).toString(), "ref-" + operationName, docBuilder);
@@ -418,9 +624,7 @@ public class PathsDocument extends MarkupDocument {
             if (description.isPresent()) {
                 operationDescription(description.get(), docBuilder);
             } else {
-                if (logger.isInfoEnabled()) {
-                    logger.info("Hand-written description cannot be read. Trying to use description from Swagger source.");
-                }
+                logItemInfo("operation descriptions taken from the Swagger source", "Hand-written description cannot be read. Trying to use description from Swagger source.");
                 operationDescription(operation.getOperation().getDescription(), docBuilder);
             }
         }else {
@@ -446,8 +650,11 @@ public class PathsDocument extends MarkupDocument {
 
     private List<ObjectType> parametersSection(PathOperation operation, MarkupDocBuilder docBuilder) {
         List<Parameter> parameters = operation.getOperation().getParameters();
-        if (this.parameterOrdering != null)
+        if (this.parameterOrdering != null && parameters != null) {
+            // Sort a copy, the Swagger model must not be modified because it can be shared between conversions
+            parameters = new ArrayList<>(parameters);
             Collections.sort(parameters, this.parameterOrdering);
+        }
         List<ObjectType> localDefinitions = new ArrayList<>();
 
         boolean displayParameters = false;
@@ -459,17 +666,10 @@ public class PathsDocument extends MarkupDocument {
               }
 
         if (displayParameters) {
-            List<List<String>> cells = new ArrayList<>();
-            List<MarkupTableColumn> cols = Arrays.asList(
-                    new MarkupTableColumn(TYPE_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
-                    new MarkupTableColumn(NAME_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
-                    new MarkupTableColumn(DESCRIPTION_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"),
-                    new MarkupTableColumn(REQUIRED_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
-                    new MarkupTableColumn(SCHEMA_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
-                    new MarkupTableColumn(DEFAULT_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"));
+            List<List<String>> cells = new ArrayList<>(parameters.size());
             for(Parameter parameter : parameters) {
                 if (filterParameter(parameter)) {
-                    Type type = ParameterUtils.getType(parameter, new DefinitionDocumentResolverFromOperation());
+                    Type type = ParameterUtils.getType(parameter, definitionDocumentResolverFromOperation);
 
                     if (inlineSchemaDepthLevel > 0 && type instanceof ObjectType) {
                         if (MapUtils.isNotEmpty(((ObjectType) type).getProperties())) {
@@ -488,13 +688,13 @@ public class PathsDocument extends MarkupDocument {
                             parameter.getName(),
                             parameterDescription(operation, parameter),
                             Boolean.toString(parameter.getRequired()),
-                            type.displaySchema(markupDocBuilder),
+                            displaySchema(type, docBuilder),
                             ParameterUtils.getDefaultValue(parameter));
                     cells.add(content);
                 }
             }
             addOperationSectionTitle(PARAMETERS, docBuilder);
-            docBuilder.tableWithColumnSpecs(cols, cells);
+            docBuilder.tableWithColumnSpecs(parametersTableColumns, cells);
         }
 
         return localDefinitions;
@@ -514,7 +714,7 @@ public class PathsDocument extends MarkupDocument {
             if (CollectionUtils.isNotEmpty(parameters)) {
                 for (Parameter parameter : parameters) {
                     if (StringUtils.equals(parameter.getIn(), "body")) {
-                        Type type = ParameterUtils.getType(parameter, new DefinitionDocumentResolverFromOperation());
+                        Type type = ParameterUtils.getType(parameter, definitionDocumentResolverFromOperation);
 
                         addOperationSectionTitle(BODY_PARAMETER, docBuilder);
                         if (isNotBlank(parameter.getDescription())) {
@@ -525,13 +725,13 @@ public class PathsDocument extends MarkupDocument {
                         typeInfos.italicText(REQUIRED_COLUMN).textLine(": " + parameter.getRequired());
                         typeInfos.italicText(NAME_COLUMN).textLine(": " + parameter.getName());
                         if (!(type instanceof ObjectType)) {
-                            typeInfos.italicText(TYPE_COLUMN).textLine(": " + type.displaySchema(docBuilder));
+                            typeInfos.italicText(TYPE_COLUMN).textLine(": " + displaySchema(type, docBuilder));
 
                             docBuilder.paragraph(typeInfos.toString());
                         } else {
                             docBuilder.paragraph(typeInfos.toString());
 
-                            localDefinitions.addAll(typeProperties((ObjectType)type, operation.getId(), this.inlineSchemaDepthLevel, new PropertyDescriptor(type), new DefinitionDocumentResolverFromOperation(), docBuilder));
+                            localDefinitions.addAll(typeProperties((ObjectType)type, operation.getId(), this.inlineSchemaDepthLevel, new PropertyDescriptor(type), definitionDocumentResolverFromOperation, docBuilder));
                         }
                     }
                 }
@@ -565,15 +765,11 @@ public class PathsDocument extends MarkupDocument {
                 if (description.isPresent()) {
                     return description.get();
                 } else {
-                    if (logger.isWarnEnabled()) {
-                        logger.warn("Hand-written description file cannot be read. Trying to use description from Swagger source.");
-                    }
+                    logItemWarn("parameter descriptions taken from the Swagger source", "Hand-written description file cannot be read. Trying to use description from Swagger source.");
                     return defaultString(parameter.getDescription());
                 }
             } else {
-                if (logger.isWarnEnabled()) {
-                    logger.warn("Hand-written description file cannot be read, because name of parameter is empty. Trying to use description from Swagger source.");
-                }
+                logItemWarn("parameter descriptions taken from the Swagger source because of an empty parameter name", "Hand-written description file cannot be read, because name of parameter is empty. Trying to use description from Swagger source.");
                 return defaultString(parameter.getDescription());
             }
         } else {
@@ -599,7 +795,7 @@ public class PathsDocument extends MarkupDocument {
     }
 
     private void tagsSection(PathOperation operation, MarkupDocBuilder docBuilder) {
-        if(pathsGroupedBy == GroupBy.AS_IS) {
+        if(pathsGroupedBy != GroupBy.TAGS) {
             List<String> tags = operation.getOperation().getTags();
             if (CollectionUtils.isNotEmpty(tags)) {
                 addOperationSectionTitle(TAGS, docBuilder);
@@ -668,9 +864,7 @@ public class PathsDocument extends MarkupDocument {
         for (String fileNameExtension : markupLanguage.getFileNameExtensions()) {
             java.nio.file.Path path = Paths.get(examplesFolderPath, exampleFolder, exampleFileName + fileNameExtension);
             if (Files.isReadable(path)) {
-                if (logger.isInfoEnabled()) {
-                    logger.info("Example file processed: {}", path);
-                }
+                logItemInfo("example files processed", "Example file processed: {}", path);
                 try {
                     return Optional.of(FileUtils.readFileToString(path.toFile(), StandardCharsets.UTF_8).trim());
                 } catch (IOException e) {
@@ -679,14 +873,10 @@ public class PathsDocument extends MarkupDocument {
                     }
                 }
             } else {
-                if (logger.isWarnEnabled()) {
-                    logger.warn("Example file is not readable: {}", path);
-                }
+                logItemWarn("example files not readable", "Example file is not readable: {}", path);
             }
         }
-        if (logger.isWarnEnabled()) {
-            logger.warn("No example file found with correct file name extension in folder: {}", Paths.get(examplesFolderPath, exampleFolder));
-        }
+        logItemWarn("example folders without example file", "No example file found with correct file name extension in folder: {}", Paths.get(examplesFolderPath, exampleFolder));
         return Optional.absent();
     }
 
@@ -702,10 +892,6 @@ public class PathsDocument extends MarkupDocument {
             addOperationSectionTitle(SECURITY, docBuilder);
             Map<String, SecuritySchemeDefinition> securityDefinitions = swagger.getSecurityDefinitions();
             List<List<String>> cells = new ArrayList<>();
-            List<MarkupTableColumn> cols = Arrays.asList(
-                    new MarkupTableColumn(TYPE_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"),
-                    new MarkupTableColumn(NAME_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
-                    new MarkupTableColumn(SCOPES_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"));
             for (Map<String, List<String>> securityScheme : securitySchemes) {
                 for (Map.Entry<String, List<String>> securityEntry : securityScheme.entrySet()) {
                     String securityKey = securityEntry.getKey();
@@ -718,7 +904,7 @@ public class PathsDocument extends MarkupDocument {
                     cells.add(content);
                 }
             }
-            docBuilder.tableWithColumnSpecs(cols, cells);
+            docBuilder.tableWithColumnSpecs(securityTableColumns, cells);
         }
     }
 
@@ -733,9 +919,7 @@ public class PathsDocument extends MarkupDocument {
         for (String fileNameExtension : markupLanguage.getFileNameExtensions()) {
             java.nio.file.Path path = Paths.get(descriptionsFolderPath, descriptionFolder, descriptionFileName + fileNameExtension);
             if (Files.isReadable(path)) {
-                if (logger.isInfoEnabled()) {
-                    logger.info("Description file processed: {}", path);
-                }
+                logItemInfo("description files processed", "Description file processed: {}", path);
                 try {
                     return Optional.of(FileUtils.readFileToString(path.toFile(), StandardCharsets.UTF_8).trim());
                 } catch (IOException e) {
@@ -744,14 +928,10 @@ public class PathsDocument extends MarkupDocument {
                     }
                 }
             } else {
-                if (logger.isWarnEnabled()) {
-                    logger.warn("Description file is not readable: {}", path);
-                }
+                logItemWarn("description files not readable", "Description file is not readable: {}", path);
             }
         }
-        if (logger.isWarnEnabled()) {
-            logger.warn("No description file found with correct file name extension in folder: {}", Paths.get(descriptionsFolderPath, descriptionFolder));
-        }
+        logItemWarn("description folders without description file", "No description file found with correct file name extension in folder: {}", Paths.get(descriptionsFolderPath, descriptionFolder));
         return Optional.absent();
     }
 
@@ -760,11 +940,7 @@ public class PathsDocument extends MarkupDocument {
         List<ObjectType> localDefinitions = new ArrayList<>();
 
         if(MapUtils.isNotEmpty(responses)){
-            List<List<String>> cells = new ArrayList<>();
-            List<MarkupTableColumn> cols = Arrays.asList(
-                    new MarkupTableColumn(HTTP_CODE_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1h"),
-                    new MarkupTableColumn(DESCRIPTION_COLUMN, 6).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^6"),
-                    new MarkupTableColumn(SCHEMA_COLUMN, 1).withMarkupSpecifiers(MarkupLanguage.ASCIIDOC, ".^1"));
+            List<List<String>> cells = new ArrayList<>(responses.size());
             Set<String> responseNames;
             if (this.responseOrdering == null)
                 responseNames = new LinkedHashSet<>();
@@ -777,7 +953,7 @@ public class PathsDocument extends MarkupDocument {
 
                 if(response.getSchema() != null){
                     Property property = response.getSchema();
-                    Type type = PropertyUtils.getType(property, new DefinitionDocumentResolverFromOperation());
+                    Type type = PropertyUtils.getType(property, definitionDocumentResolverFromOperation);
                     if (this.inlineSchemaDepthLevel > 0 && type instanceof ObjectType) {
                         if (MapUtils.isNotEmpty(((ObjectType) type).getProperties())) {
                             String localTypeName = RESPONSE + " " + responseName;
@@ -788,13 +964,13 @@ public class PathsDocument extends MarkupDocument {
                             type = new RefType(type);
                         }
                     }
-                    cells.add(Arrays.asList(responseName, response.getDescription(), type.displaySchema(markupDocBuilder)));
+                    cells.add(Arrays.asList(responseName, response.getDescription(), displaySchema(type, docBuilder)));
                 }else{
                     cells.add(Arrays.asList(responseName, response.getDescription(), NO_CONTENT));
                 }
             }
             addOperationSectionTitle(RESPONSES, docBuilder);
-            docBuilder.tableWithColumnSpecs(cols, cells);
+            docBuilder.tableWithColumnSpecs(responsesTableColumns, cells);
         }
         return localDefinitions;
     }
@@ -822,9 +998,10 @@ public class PathsDocument extends MarkupDocument {
     private void inlineDefinitions(List<ObjectType> definitions, String uniquePrefix, int depth, MarkupDocBuilder docBuilder) {
         if(CollectionUtils.isNotEmpty(definitions)){
             for (ObjectType definition: definitions) {
+                conversionContext.checkNotCancelled("inline schema", definition.getUniqueName());
                 addInlineDefinitionTitle(definition.getName(), definition.getUniqueName(), docBuilder);
 
-                List<ObjectType> localDefinitions = typeProperties(definition, uniquePrefix, depth, new PropertyDescriptor(definition), new DefinitionDocumentResolverFromOperation(), docBuilder);
+                List<ObjectType> localDefinitions = typeProperties(definition, uniquePrefix, depth, new PropertyDescriptor(definition), definitionDocumentResolverFromOperation, docBuilder);
                 for (ObjectType localDefinition : localDefinitions)
                     inlineDefinitions(Collections.singletonList(localDefinition), uniquePrefix, depth - 1, docBuilder);
             }
@@ -843,7 +1020,7 @@ public class PathsDocument extends MarkupDocument {
         public String apply(String definitionName) {
             String defaultResolver = super.apply(definitionName);
 
-            if (defaultResolver != null && separatedOperationsEnabled)
+            if (defaultResolver != null && (separatedOperationsEnabled || separatedTagsEnabled))
                 return interDocumentCrossReferencesPrefix + new File("..", defaultResolver).getPath();
             else
                 return defaultResolver;
@@ -0,0 +1,78 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.document;
+
+import io.github.robwin.swagger2markup.DocumentType;
+import io.github.robwin.swagger2markup.ProgressListener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the completed operations or definitions of a document and reports them to a progress listener,
+ * at most once per report interval, so that reporting does not slow down rendering.
+ * The first and the last report are never throttled.
+ */
+class ProgressReporter {
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final ProgressListener listener;
+    private final DocumentType phase;
+    private final int total;
+    private final AtomicInteger completed = new AtomicInteger();
+    private volatile long nextReportNanos;
+    private int reportedCount;
+
+    /**
+     * @param listener the progress listener, or null to report nothing
+     * @param phase the document being built
+     * @param total the total number of operations or definitions of the document
+     */
+    ProgressReporter(ProgressListener listener, DocumentType phase, int total) {
+        this.listener = listener;
+        this.phase = phase;
+        this.total = total;
+        if (listener != null) {
+            nextReportNanos = System.nanoTime() + REPORT_INTERVAL_NANOS;
+            listener.onProgress(phase, 0, total);
+        }
+    }
+
+    /**
+     * Counts a completed operation or definition
+     */
+    void completed() {
+        if (listener == null)
+            return;
+
+        int completedCount = completed.incrementAndGet();
+        if (completedCount == total || System.nanoTime() - nextReportNanos >= 0)
+            report(completedCount);
+    }
+
+    private synchronized void report(int completedCount) {
+        // A worker may get here after another one reported a greater count, or the last one
+        if (completedCount <= reportedCount || (completedCount < total && System.nanoTime() - nextReportNanos < 0))
+            return;
+        reportedCount = completedCount;
+        nextReportNanos = System.nanoTime() + REPORT_INTERVAL_NANOS;
+        listener.onProgress(phase, completedCount, total);
+    }
+}
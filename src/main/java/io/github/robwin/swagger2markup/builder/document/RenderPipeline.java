@@ -0,0 +1,174 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.document;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the fragments of a document with a pool of workers, while the rendered fragments are written in order to a fragment sink.
+ * The number of pending fragments is bounded, so that the workers cannot get ahead of the writer.
+ */
+class RenderPipeline implements Closeable {
+
+    private static final int PENDING_FRAGMENTS_PER_WORKER = 2;
+    private static final long KEEP_ALIVE_SECONDS = 10;
+    private static final long TERMINATION_TIMEOUT_SECONDS = 60;
+    static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setNameFormat("swagger2markup-render-%d").setDaemon(true).build();
+
+    private final ThreadPoolExecutor executor;
+    private final int capacity;
+    private final FragmentSink fragmentSink;
+    private final Deque<Future<String>> pendingFragments = new ArrayDeque<>();
+
+    /**
+     * @param parallelism the number of workers
+     * @param fragmentSink the sink the rendered fragments are written to, e.g. a fragment buffer
+     */
+    RenderPipeline(int parallelism, FragmentSink fragmentSink) {
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), THREAD_FACTORY);
+        this.executor.allowCoreThreadTimeOut(true);
+        this.capacity = parallelism * PENDING_FRAGMENTS_PER_WORKER;
+        this.fragmentSink = fragmentSink;
+    }
+
+    /**
+     * Submits a fragment to render, waiting for the oldest pending fragments to be written if too many fragments are pending
+     *
+     * @param renderer renders the fragment
+     * @throws IOException if a fragment cannot be rendered or written
+     */
+    void submit(Callable<String> renderer) throws IOException {
+        awaitCapacity();
+        enqueue(executor.submit(renderer));
+    }
+
+    /**
+     * Submits a fragment rendered elsewhere, e.g. an operation rendered while the Swagger source was parsed,
+     * to be written in order with the other fragments
+     *
+     * @param renderedFragment the fragment, rendered or being rendered
+     * @throws IOException if a fragment cannot be rendered or written
+     */
+    void submit(Future<String> renderedFragment) throws IOException {
+        awaitCapacity();
+        enqueue(renderedFragment);
+    }
+
+    private void awaitCapacity() throws IOException {
+        while (pendingFragments.size() >= capacity)
+            writeNext();
+    }
+
+    private void enqueue(Future<String> fragment) throws IOException {
+        pendingFragments.add(fragment);
+        while (!pendingFragments.isEmpty() && pendingFragments.peek().isDone())
+            writeNext();
+    }
+
+    /**
+     * Waits for all the pending fragments to be rendered and written
+     *
+     * @throws IOException if a fragment cannot be rendered or written
+     */
+    void drain() throws IOException {
+        while (!pendingFragments.isEmpty())
+            writeNext();
+    }
+
+    private void writeNext() throws IOException {
+        fragmentSink.append(await(pendingFragments.poll()));
+    }
+
+    /**
+     * Runs independent rendering tasks, e.g. rendering separate files, with a pool of workers and waits for all of them
+     *
+     * @param parallelism the number of workers
+     * @param tasks the rendering tasks
+     * @throws IOException if a task fails
+     */
+    static void runAll(int parallelism, Collection<? extends Callable<Void>> tasks) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, THREAD_FACTORY);
+        try {
+            List<Future<Void>> results = executor.invokeAll(tasks);
+            for (Future<Void> result : results)
+                await(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for rendering tasks");
+        } finally {
+            shutdown(executor);
+        }
+    }
+
+    /**
+     * Stops the workers, and waits for the fragments being rendered to be finished, so that no worker outlives the rendering
+     */
+    static void shutdown(ExecutorService executor) {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for a fragment or a task, rethrowing its failure
+     */
+    static <T> T await(Future<T> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a rendered fragment");
+        } catch (ExecutionException e) {
+            Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Stops the workers, cancelling the pending fragments, and waits for the workers to terminate
+     */
+    @Override
+    public void close() {
+        for (Future<String> fragment : pendingFragments)
+            fragment.cancel(true);
+        pendingFragments.clear();
+        shutdown(executor);
+    }
+}
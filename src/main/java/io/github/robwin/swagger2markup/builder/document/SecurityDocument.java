@@ -22,6 +22,7 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
@@ -47,9 +48,14 @@ public class SecurityDocument extends MarkupDocument {
     private final String FLOW;
     private final String AUTHORIZATION_URL;
     private final String TOKEN_URL;
+    private final List<MarkupTableColumn> scopesTableColumns;
 
     public SecurityDocument(Swagger2MarkupConfig swagger2MarkupConfig, String outputDirectory) {
-        super(swagger2MarkupConfig, outputDirectory);
+        this(swagger2MarkupConfig, new ConversionContext(swagger2MarkupConfig), outputDirectory);
+    }
+
+    public SecurityDocument(Swagger2MarkupConfig swagger2MarkupConfig, ConversionContext conversionContext, String outputDirectory) {
+        super(swagger2MarkupConfig, conversionContext, outputDirectory);
 
         ResourceBundle labels = ResourceBundle.getBundle("lang/labels",
                 swagger2MarkupConfig.getOutputLanguage());
@@ -60,6 +66,9 @@ public class SecurityDocument extends MarkupDocument {
         FLOW = labels.getString("security_flow");
         AUTHORIZATION_URL = labels.getString("security_authorizationUrl");
         TOKEN_URL = labels.getString("security_tokenUrl");
+        this.scopesTableColumns = Collections.unmodifiableList(Arrays.asList(
+                new MarkupTableColumn(NAME_COLUMN, 1),
+                new MarkupTableColumn(DESCRIPTION_COLUMN, 6)));
     }
 
     /**
@@ -103,14 +112,12 @@ public class SecurityDocument extends MarkupDocument {
                     if (isNotBlank(oauth2Scheme.getTokenUrl())) {
                         markupDocBuilder.textLine(TOKEN_URL + oauth2Scheme.getTokenUrl());
                     }
-                    List<List<String>> cells = new ArrayList<>();
-                    List<MarkupTableColumn> cols = Arrays.asList(new MarkupTableColumn(NAME_COLUMN, 1),
-                            new MarkupTableColumn(DESCRIPTION_COLUMN, 6));
+                    List<List<String>> cells = new ArrayList<>(oauth2Scheme.getScopes().size());
                     for (Map.Entry<String, String> scope : oauth2Scheme.getScopes().entrySet()) {
                         List<String> content = Arrays.asList(scope.getKey(), scope.getValue());
                         cells.add(content);
                     }
-                    markupDocBuilder.tableWithColumnSpecs(cols, cells);
+                    markupDocBuilder.tableWithColumnSpecs(scopesTableColumns, cells);
 
                 }
 
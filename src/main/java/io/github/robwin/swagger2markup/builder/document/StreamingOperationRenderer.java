@@ -0,0 +1,170 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.document;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.github.robwin.swagger2markup.DocumentType;
+import io.github.robwin.swagger2markup.PathOperation;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.parser.StreamingSwaggerParser;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.apache.commons.lang3.Validate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+/**
+ * Renders the operations of a Swagger source with a pool of workers while the source is parsed by {@link StreamingSwaggerParser},
+ * so that parsing and rendering overlap. The paths document of a conversion whose {@link ConversionContext} has been created with
+ * this renderer writes the rendered operations instead of rendering them again.
+ * The operations are only rendered while parsing if the paths document is built with a parallelism greater than 1,
+ * without separated operation and tag files. The number of operations being rendered is bounded, so that the workers
+ * cannot get ahead of the parser, and the rendered operations are kept until the paths document is built.
+ */
+public class StreamingOperationRenderer implements StreamingSwaggerParser.Listener, Closeable {
+
+    private static final int PENDING_OPERATIONS_PER_WORKER = 2;
+
+    private final Function<Swagger, Swagger2MarkupConfig> configFactory;
+    private final String outputDirectory;
+    private final Deque<ListenableFuture<String>> pendingOperations = new ArrayDeque<>();
+    private final Map<String, ListenableFuture<String>> renderedOperations = new HashMap<>();
+    private final List<PathsDocument> pathsDocuments = new ArrayList<>();
+    private boolean disabled;
+    private Swagger swagger;
+    private ConversionContext conversionContext;
+    private PathsDocument pathsDocument;
+    private ListeningExecutorService executor;
+    private int capacity;
+
+    /**
+     * @param configFactory creates the configuration of the conversion for the Swagger model parsed so far,
+     *                      or returns null if the operations must not be rendered while parsing
+     * @param outputDirectory the directory the documents are written to
+     */
+    public StreamingOperationRenderer(Function<Swagger, Swagger2MarkupConfig> configFactory, String outputDirectory) {
+        Validate.notNull(configFactory, "configFactory must not be null!");
+        this.configFactory = configFactory;
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Override
+    public void onPath(String pathName, Path path, Swagger swagger) throws IOException {
+        if (disabled || !startDocument(swagger) || path.getOperationMap() == null)
+            return;
+
+        for (Map.Entry<HttpMethod, Operation> operation : path.getOperationMap().entrySet()) {
+            final PathOperation pathOperation = new PathOperation(operation.getKey(), pathName, operation.getValue());
+            if (conversionContext.isSelected(pathOperation)) {
+                while (pendingOperations.size() >= capacity)
+                    RenderPipeline.await(pendingOperations.poll());
+                final PathsDocument operationDocument = pathsDocument;
+                ListenableFuture<String> renderedOperation = executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return operationDocument.renderOperation(pathOperation);
+                    }
+                });
+                pendingOperations.add(renderedOperation);
+                renderedOperations.put(operationKey(pathOperation), renderedOperation);
+                while (!pendingOperations.isEmpty() && pendingOperations.peek().isDone())
+                    RenderPipeline.await(pendingOperations.poll());
+            }
+        }
+    }
+
+    /**
+     * Creates the paths document rendering the operations of a Swagger model, unless it already exists.
+     * The paths reported while parsing share the sections preceding the paths, the other paths share the whole model.
+     *
+     * @return false if the operations must not be rendered while parsing
+     */
+    private boolean startDocument(Swagger swagger) {
+        if (swagger == this.swagger)
+            return true;
+
+        Swagger2MarkupConfig config = configFactory.apply(swagger);
+        if (config == null || config.getParallelism() <= 1 || config.isSeparatedOperations() || config.isSeparatedTags()
+                || !config.getDocuments().contains(DocumentType.PATHS)) {
+            disabled = true;
+            return false;
+        }
+        this.swagger = swagger;
+        this.conversionContext = new ConversionContext(config);
+        this.pathsDocument = new PathsDocument(config, conversionContext, outputDirectory);
+        pathsDocuments.add(pathsDocument);
+        if (executor == null) {
+            executor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(config.getParallelism(), RenderPipeline.THREAD_FACTORY));
+            capacity = config.getParallelism() * PENDING_OPERATIONS_PER_WORKER;
+        }
+        return true;
+    }
+
+    /**
+     * Returns an operation rendered while the Swagger source was parsed
+     *
+     * @param operation the operation
+     * @return the rendered operation, or null if the operation has not been rendered while parsing
+     */
+    ListenableFuture<String> getRenderedOperation(PathOperation operation) {
+        return renderedOperations.get(operationKey(operation));
+    }
+
+    /**
+     * Adds the per-item messages counted while rendering the operations to the summary of a document
+     *
+     * @param document the paths document using the rendered operations
+     */
+    void addLogSummary(MarkupDocument document) {
+        for (PathsDocument pathsDocument : pathsDocuments)
+            document.addLogSummary(pathsDocument);
+    }
+
+    private static String operationKey(PathOperation operation) {
+        return operation.getMethod() + " " + operation.getPath();
+    }
+
+    /**
+     * Stops the workers, cancelling the operations being rendered, e.g. if the parsing fails
+     */
+    @Override
+    public void close() throws IOException {
+        for (ListenableFuture<String> pendingOperation : pendingOperations)
+            pendingOperation.cancel(true);
+        pendingOperations.clear();
+        if (executor != null)
+            RenderPipeline.shutdown(executor);
+        for (PathsDocument pathsDocument : pathsDocuments)
+            pathsDocument.close();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.config;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Ordering;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Computes the fingerprint of the settings of a configuration which affect the generated documents, see {@link Swagger2MarkupConfig#getFingerprint()}.
+ * The settings are written in a canonical text form, followed by the content of the examples, descriptions and schemas folders, and hashed with SHA-256.
+ */
+final class ConfigFingerprint {
+
+    /**
+     * Version of the fingerprint, to increase whenever the same settings produce different documents
+     */
+    static final int VERSION = 1;
+
+    private static final Map<Comparator<?>, String> KNOWN_ORDERINGS = ImmutableMap.<Comparator<?>, String>builder()
+            .put(Ordering.natural(), "natural")
+            .put(Swagger2MarkupConverter.Builder.OPERATION_PATH_COMPARATOR, "operation path")
+            .put(Swagger2MarkupConverter.Builder.OPERATION_METHOD_COMPARATOR, "operation method")
+            .put(Swagger2MarkupConverter.Builder.OPERATION_PATH_COMPARATOR.compound(Swagger2MarkupConverter.Builder.OPERATION_METHOD_COMPARATOR), "operation path, operation method")
+            .put(Swagger2MarkupConverter.Builder.PARAMETER_IN_COMPARATOR, "parameter in")
+            .put(Swagger2MarkupConverter.Builder.PARAMETER_NAME_COMPARATOR, "parameter name")
+            .put(Swagger2MarkupConverter.Builder.PARAMETER_IN_COMPARATOR.compound(Swagger2MarkupConverter.Builder.PARAMETER_NAME_COMPARATOR), "parameter in, parameter name")
+            .build();
+
+    private ConfigFingerprint() {
+    }
+
+    static String compute(Swagger2MarkupConfig config) {
+        StringBuilder settings = new StringBuilder();
+        setting(settings, "version", VERSION);
+        setting(settings, "markupLanguage", config.getMarkupLanguage());
+        setting(settings, "outputLanguage", config.getOutputLanguage().toLanguageTag());
+        setting(settings, "documents", sorted(config.getDocuments()));
+        setting(settings, "pathsGroupedBy", config.getPathsGroupedBy());
+        setting(settings, "definitionsOrderedBy", config.getDefinitionsOrderedBy());
+        setting(settings, "tagOrdering", ordering(config.getTagOrdering()));
+        setting(settings, "operationOrdering", ordering(config.getOperationOrdering()));
+        setting(settings, "definitionOrdering", ordering(config.getDefinitionOrdering()));
+        setting(settings, "parameterOrdering", ordering(config.getParameterOrdering()));
+        setting(settings, "propertyOrdering", ordering(config.getPropertyOrdering()));
+        setting(settings, "responseOrdering", ordering(config.getResponseOrdering()));
+        setting(settings, "inlineSchemaDepthLevel", config.getInlineSchemaDepthLevel());
+        setting(settings, "flatBody", config.isFlatBody());
+        setting(settings, "anchorPrefix", config.getAnchorPrefix());
+        setting(settings, "interDocumentCrossReferences", config.isInterDocumentCrossReferences());
+        setting(settings, "interDocumentCrossReferencesPrefix", config.getInterDocumentCrossReferencesPrefix());
+        setting(settings, "separatedDefinitions", config.isSeparatedDefinitions());
+        setting(settings, "separatedOperations", config.isSeparatedOperations());
+        setting(settings, "separatedTags", config.isSeparatedTags());
+        setting(settings, "selectedTags", sorted(config.getSelectedTags()));
+        setting(settings, "selectedPathPrefixes", sorted(config.getSelectedPathPrefixes()));
+        setting(settings, "selectedDefinitions", sorted(config.getSelectedDefinitions()));
+        setting(settings, "pruneUnreachableDefinitions", config.isPruneUnreachableDefinitions());
+        setting(settings, "chunkMaxItems", config.getChunkMaxItems());
+        setting(settings, "chunkMaxBytes", config.getChunkMaxBytes());
+
+        Hasher hasher = Hashing.sha256().newHasher().putString(settings, StandardCharsets.UTF_8);
+        folder(hasher, "examples", config.getExamplesFolderPath());
+        folder(hasher, "descriptions", config.getDescriptionsFolderPath());
+        folder(hasher, "schemas", config.getSchemasFolderPath());
+        return VERSION + ":" + hasher.hash();
+    }
+
+    private static void setting(StringBuilder settings, String name, Object value) {
+        settings.append(name).append('=').append(value).append('\n');
+    }
+
+    private static String sorted(Collection<?> values) {
+        if (values == null)
+            return "all";
+        TreeSet<String> sortedValues = new TreeSet<>();
+        for (Object value : values)
+            sortedValues.add(String.valueOf(value));
+        return "[" + Joiner.on(", ").join(sortedValues) + "]";
+    }
+
+    /**
+     * Identifies an ordering. The orderings of {@link Swagger2MarkupConverter.Builder} have a stable name, and a null ordering keeps the orderings as-is.
+     * Other orderings are identified by their class name and, if their class overrides it, their toString().
+     */
+    private static String ordering(Comparator<?> ordering) {
+        if (ordering == null)
+            return "as-is";
+        String knownOrdering = KNOWN_ORDERINGS.get(ordering);
+        if (knownOrdering != null)
+            return knownOrdering;
+        try {
+            if (ordering.getClass().getMethod("toString").getDeclaringClass() != Object.class)
+                return ordering.getClass().getName() + " " + ordering;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+        return ordering.getClass().getName();
+    }
+
+    /**
+     * Hashes the relative paths and the content of the files of a folder, in the order of their relative paths
+     */
+    private static void folder(final Hasher hasher, String name, String folderPath) {
+        hasher.putString(name + "=", StandardCharsets.UTF_8);
+        if (isBlank(folderPath) || !Files.isDirectory(Paths.get(folderPath))) {
+            hasher.putString("none\n", StandardCharsets.UTF_8);
+            return;
+        }
+
+        final Path folder = Paths.get(folderPath);
+        final List<String> files = new ArrayList<>();
+        try {
+            Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (attributes.isRegularFile())
+                        files.add(relativePath(folder, file));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    files.add(relativePath(folder, file));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            hasher.putString("unreadable\n", StandardCharsets.UTF_8);
+            return;
+        }
+
+        Collections.sort(files);
+        hasher.putString(files.size() + "\n", StandardCharsets.UTF_8);
+        for (String file : files) {
+            hasher.putString(file + "\n", StandardCharsets.UTF_8);
+            try {
+                byte[] content = Files.readAllBytes(folder.resolve(file));
+                hasher.putInt(content.length).putBytes(content);
+            } catch (IOException e) {
+                hasher.putInt(-1);
+            }
+        }
+    }
+
+    /**
+     * Returns the path of a file relative to a folder, with the same separator on all platforms
+     */
+    private static String relativePath(Path folder, Path file) {
+        return folder.relativize(file).toString().replace(folder.getFileSystem().getSeparator(), "/");
+    }
+}
@@ -20,11 +20,16 @@ package io.github.robwin.swagger2markup.config;
 
 import java.util.Comparator;
 import java.util.Locale;
+import java.util.Set;
 
 import io.github.robwin.markup.builder.MarkupLanguage;
+import io.github.robwin.swagger2markup.CancellationToken;
+import io.github.robwin.swagger2markup.DocumentType;
+import io.github.robwin.swagger2markup.FragmentCache;
 import io.github.robwin.swagger2markup.GroupBy;
 import io.github.robwin.swagger2markup.OrderBy;
 import io.github.robwin.swagger2markup.PathOperation;
+import io.github.robwin.swagger2markup.ProgressListener;
 import io.swagger.models.Swagger;
 import io.swagger.models.parameters.Parameter;
 
@@ -54,6 +59,22 @@ public class Swagger2MarkupConfig {
     private final String interDocumentCrossReferencesPrefix;
     private final boolean flatBody;
     private final String anchorPrefix;
+    private final Set<DocumentType> documents;
+    private final Set<String> selectedTags;
+    private final Set<String> selectedPathPrefixes;
+    private final Set<String> selectedDefinitions;
+    private final boolean pruneUnreachableDefinitions;
+    private final int spillThreshold;
+    private final int parallelism;
+    private final CancellationToken cancellationToken;
+    private final long timeoutMillis;
+    private final ProgressListener progressListener;
+    private final boolean summarizedLogging;
+    private final boolean preflightValidation;
+    private final boolean separatedTags;
+    private final int chunkMaxItems;
+    private final int chunkMaxBytes;
+    private final FragmentCache fragmentCache;
 
     private static final String OVERVIEW_DOCUMENT = "overview";
     private static final String PATHS_DOCUMENT = "paths";
@@ -62,6 +83,7 @@ public class Swagger2MarkupConfig {
 
     private static final String SEPARATED_DEFINITIONS_FOLDER = "definitions";
     private static final String SEPARATED_OPERATIONS_FOLDER = "operations";
+    private static final String SEPARATED_TAGS_FOLDER = "tags";
 
 
     /**
@@ -72,7 +94,7 @@ public class Swagger2MarkupConfig {
      * @param descriptionsFolderPath the path to the folder where the description documents reside
      * @param separatedDefinitions specified if in addition to the definitions file, also separate definition files for each model definition should be created
      * @param separatedOperations specified if in addition to the paths file, also separate operation files for each operation should be created
-     * @param pathsGroupedBy specifies if the paths should be grouped by tags or stay as-is
+     * @param pathsGroupedBy specifies if the paths should be grouped by tags, by resource path prefix or stay as-is
      * @param definitionsOrderedBy specifies if the definitions should be ordered by natural ordering or stay as-is
      * @param outputLanguage specifies language of labels in output files
      * @param inlineSchemaDepthLevel specifies the max depth for inline object schema display (0 = no inline schemas)
@@ -86,6 +108,22 @@ public class Swagger2MarkupConfig {
      * @param interDocumentCrossReferencesPrefix set an optional prefix for inter-document cross-references
      * @param flatBody optionally isolate the body parameter, if any, from other parameters
      * @param anchorPrefix optionally prefix all anchors for unicity
+     * @param documents specifies the documents to generate
+     * @param selectedTags optionally restrict the operations to the operations having one of these tags (null = all operations)
+     * @param selectedPathPrefixes optionally restrict the operations to the operations whose path starts with one of these prefixes (null = all operations)
+     * @param selectedDefinitions optionally restrict the definitions to these definition names (null = all definitions)
+     * @param pruneUnreachableDefinitions only generate the definitions reachable from the selected operations
+     * @param spillThreshold the maximum number of characters of rendered operations or definitions kept in memory by a document before spilling them to a temporary file (0 = no limit)
+     * @param parallelism the number of workers rendering the operations and definitions of a document (1 = rendered by the calling thread)
+     * @param cancellationToken optionally cancels the conversion (null = not cancellable)
+     * @param timeoutMillis the maximum duration of a conversion in milliseconds (0 = no timeout)
+     * @param progressListener optionally receives the progress of the paths and definitions documents (null = no progress reporting)
+     * @param summarizedLogging log aggregate counts per document instead of a message per operation, definition or file
+     * @param preflightValidation validate the Swagger model against the configuration before building any document
+     * @param separatedTags in addition to the paths index, create a separate file for each tag (requires GroupBy.TAGS)
+     * @param chunkMaxItems the maximum number of operations or definitions per chunk of the paths and definitions documents (0 = no limit)
+     * @param chunkMaxBytes the maximum number of bytes per chunk of the paths and definitions documents (0 = no limit)
+     * @param fragmentCache optionally caches the single operations and definitions rendered on demand (null = no cache)
      */
     public Swagger2MarkupConfig(Swagger swagger, MarkupLanguage markupLanguage, String examplesFolderPath,
 
@@ -95,7 +133,12 @@ public class Swagger2MarkupConfig {
                                 Comparator<String> definitionOrdering, Comparator<Parameter> parameterOrdering, Comparator<String> propertyOrdering,
                                 Comparator<String> responseOrdering,
                                 boolean interDocumentCrossReferences, String interDocumentCrossReferencesPrefix,
-                                boolean flatBody, String anchorPrefix) {
+                                boolean flatBody, String anchorPrefix,
+                                Set<DocumentType> documents, Set<String> selectedTags, Set<String> selectedPathPrefixes, Set<String> selectedDefinitions,
+                                boolean pruneUnreachableDefinitions, int spillThreshold, int parallelism,
+                                CancellationToken cancellationToken, long timeoutMillis, ProgressListener progressListener,
+                                boolean summarizedLogging, boolean preflightValidation, boolean separatedTags,
+                                int chunkMaxItems, int chunkMaxBytes, FragmentCache fragmentCache) {
 
         this.swagger = swagger;
         this.markupLanguage = markupLanguage;
@@ -118,6 +161,81 @@ public class Swagger2MarkupConfig {
         this.interDocumentCrossReferencesPrefix = interDocumentCrossReferencesPrefix;
         this.flatBody = flatBody;
         this.anchorPrefix = anchorPrefix;
+        this.documents = documents;
+        this.selectedTags = selectedTags;
+        this.selectedPathPrefixes = selectedPathPrefixes;
+        this.selectedDefinitions = selectedDefinitions;
+        this.pruneUnreachableDefinitions = pruneUnreachableDefinitions;
+        this.spillThreshold = spillThreshold;
+        this.parallelism = parallelism;
+        this.cancellationToken = cancellationToken;
+        this.timeoutMillis = timeoutMillis;
+        this.progressListener = progressListener;
+        this.summarizedLogging = summarizedLogging;
+        this.preflightValidation = preflightValidation;
+        this.separatedTags = separatedTags;
+        this.chunkMaxItems = chunkMaxItems;
+        this.chunkMaxBytes = chunkMaxBytes;
+        this.fragmentCache = fragmentCache;
+    }
+
+    /**
+     * Returns a copy of this configuration using another markup language
+     *
+     * @param markupLanguage the markup language which is used to generate the files
+     * @return the configuration copy
+     */
+    public Swagger2MarkupConfig withMarkupLanguage(MarkupLanguage markupLanguage) {
+        return copy(markupLanguage, outputLanguage);
+    }
+
+    /**
+     * Returns a copy of this configuration using another output language
+     *
+     * @param outputLanguage specifies language of labels in output files
+     * @return the configuration copy
+     */
+    public Swagger2MarkupConfig withOutputLanguage(Locale outputLanguage) {
+        return copy(markupLanguage, outputLanguage);
+    }
+
+    /**
+     * Returns a copy of this configuration without timeout, e.g. for a context outliving a single conversion
+     *
+     * @return the configuration copy
+     */
+    public Swagger2MarkupConfig withoutTimeout() {
+        return copy(markupLanguage, outputLanguage, 0);
+    }
+
+    /**
+     * Returns a copy of this configuration without timeout and without the settings which require an output folder,
+     * i.e. separated definitions, operations and tags and document chunks, e.g. for rendering single operations and definitions as Strings
+     *
+     * @return the configuration copy
+     */
+    public Swagger2MarkupConfig withoutTimeoutAndFileOutput() {
+        return copy(markupLanguage, outputLanguage, 0, false, false, false, 0, 0);
+    }
+
+    private Swagger2MarkupConfig copy(MarkupLanguage markupLanguage, Locale outputLanguage) {
+        return copy(markupLanguage, outputLanguage, timeoutMillis);
+    }
+
+    private Swagger2MarkupConfig copy(MarkupLanguage markupLanguage, Locale outputLanguage, long timeoutMillis) {
+        return copy(markupLanguage, outputLanguage, timeoutMillis, separatedDefinitions, separatedOperations, separatedTags, chunkMaxItems, chunkMaxBytes);
+    }
+
+    private Swagger2MarkupConfig copy(MarkupLanguage markupLanguage, Locale outputLanguage, long timeoutMillis, boolean separatedDefinitions,
+                                      boolean separatedOperations, boolean separatedTags, int chunkMaxItems, int chunkMaxBytes) {
+        return new Swagger2MarkupConfig(swagger, markupLanguage, examplesFolderPath,
+                schemasFolderPath, descriptionsFolderPath, separatedDefinitions, separatedOperations, pathsGroupedBy, definitionsOrderedBy,
+                outputLanguage, inlineSchemaDepthLevel,
+                tagOrdering, operationOrdering, definitionOrdering, parameterOrdering, propertyOrdering, responseOrdering,
+                interDocumentCrossReferences, interDocumentCrossReferencesPrefix, flatBody, anchorPrefix,
+                documents, selectedTags, selectedPathPrefixes, selectedDefinitions, pruneUnreachableDefinitions, spillThreshold, parallelism,
+                cancellationToken, timeoutMillis, progressListener, summarizedLogging, preflightValidation, separatedTags,
+                chunkMaxItems, chunkMaxBytes, fragmentCache);
     }
 
     public Swagger getSwagger() {
@@ -212,6 +330,10 @@ public class Swagger2MarkupConfig {
         return SEPARATED_OPERATIONS_FOLDER;
     }
 
+    public String getSeparatedTagsFolder() {
+        return SEPARATED_TAGS_FOLDER;
+    }
+
     public boolean isInterDocumentCrossReferences() {
         return interDocumentCrossReferences;
     }
@@ -227,4 +349,82 @@ public class Swagger2MarkupConfig {
     public String getAnchorPrefix() {
         return anchorPrefix;
     }
+
+    public Set<DocumentType> getDocuments() {
+        return documents;
+    }
+
+    public Set<String> getSelectedTags() {
+        return selectedTags;
+    }
+
+    public Set<String> getSelectedPathPrefixes() {
+        return selectedPathPrefixes;
+    }
+
+    public Set<String> getSelectedDefinitions() {
+        return selectedDefinitions;
+    }
+
+    public boolean isPruneUnreachableDefinitions() {
+        return pruneUnreachableDefinitions;
+    }
+
+    public int getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public ProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    public boolean isSummarizedLogging() {
+        return summarizedLogging;
+    }
+
+    public boolean isPreflightValidation() {
+        return preflightValidation;
+    }
+
+    public boolean isSeparatedTags() {
+        return separatedTags;
+    }
+
+    public int getChunkMaxItems() {
+        return chunkMaxItems;
+    }
+
+    public int getChunkMaxBytes() {
+        return chunkMaxBytes;
+    }
+
+    public FragmentCache getFragmentCache() {
+        return fragmentCache;
+    }
+
+    /**
+     * Returns a stable, versioned fingerprint of the settings which affect the generated documents, e.g. to decide whether
+     * a previous output is reusable. Two configurations with the same fingerprint generate the same documents from the same
+     * Swagger source, in any JVM. The fingerprint covers the content of the examples, descriptions and schemas folders,
+     * which are read on each call, but not the Swagger source, nor the settings which only affect the execution,
+     * such as the parallelism, the timeout or the logging.
+     * Custom orderings are identified by their class name and, if their class overrides it, their toString().
+     *
+     * @return the fingerprint, prefixed by its version
+     */
+    public String getFingerprint() {
+        return ConfigFingerprint.compute(this);
+    }
 }
@@ -0,0 +1,261 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.Model;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerResolver;
+import io.swagger.parser.util.SwaggerDeserializer;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+import org.apache.commons.lang3.Validate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses a Swagger 2.0 JSON or YAML source with a streaming parser.
+ * The paths and definitions are converted entry by entry, so that the JSON tree of the whole source is never built,
+ * and each path is reported to a listener as soon as its references can be resolved, so that it can be rendered while the rest of the source is parsed.
+ * The entries are converted by the {@link SwaggerDeserializer} of the Swagger parser, and the references are resolved by the {@link SwaggerResolver},
+ * like with {@link io.swagger.parser.SwaggerParser}.
+ */
+public final class StreamingSwaggerParser {
+
+    private static final String SWAGGER = "swagger";
+    private static final String SWAGGER_VERSION = "2.0";
+    private static final String PATHS = "paths";
+    private static final String DEFINITIONS = "definitions";
+    private static final String PARAMETERS = "parameters";
+    private static final String RESPONSES = "responses";
+    private static final String SECURITY = "security";
+    private static final String SECURITY_DEFINITIONS = "securityDefinitions";
+    private static final String VENDOR_EXTENSION_PREFIX = "x-";
+    private static final String REF = "$ref";
+    private static final String INTERNAL_REF_PREFIX = "#/";
+    private static final String PARAMETERS_REF_PREFIX = "#/parameters/";
+    private static final String RESPONSES_REF_PREFIX = "#/responses/";
+
+    /**
+     * Receives the paths of a Swagger source while it is parsed
+     */
+    public interface Listener {
+
+        /**
+         * Called once for each path of the source, with its references resolved.
+         * A path is reported as soon as it is parsed if it only refers to definitions, and to global parameters, global responses
+         * and security definitions which have already been parsed, which is the case when they appear before the paths in the source.
+         * The other paths are reported, in source order, once the whole source is parsed.
+         *
+         * @param pathName the path name
+         * @param path the resolved path, which is also the path of the returned Swagger model
+         * @param swagger the sections preceding the paths for a path reported while parsing, else the whole Swagger model
+         * @throws IOException if the path cannot be processed, which stops the parsing
+         */
+        void onPath(String pathName, Path path, Swagger swagger) throws IOException;
+    }
+
+    /**
+     * A listener ignoring the paths
+     */
+    public static final Listener NO_LISTENER = new Listener() {
+        @Override
+        public void onPath(String pathName, Path path, Swagger swagger) {
+        }
+    };
+
+    private StreamingSwaggerParser() {
+    }
+
+    /**
+     * Parses a Swagger 2.0 JSON or YAML source
+     *
+     * @param swaggerInputStream the Swagger source, closed when parsed
+     * @return the Swagger model
+     * @throws IOException if the source cannot be read or parsed
+     */
+    public static Swagger parse(InputStream swaggerInputStream) throws IOException {
+        return parse(swaggerInputStream, null);
+    }
+
+    /**
+     * Parses a Swagger 2.0 JSON or YAML source
+     *
+     * @param swaggerInputStream the Swagger source, closed when parsed
+     * @param location the location of the Swagger source, used to resolve relative references (null = no relative references)
+     * @return the Swagger model
+     * @throws IOException if the source cannot be read or parsed
+     */
+    public static Swagger parse(InputStream swaggerInputStream, String location) throws IOException {
+        return parse(swaggerInputStream, location, NO_LISTENER);
+    }
+
+    /**
+     * Parses a Swagger 2.0 JSON or YAML source, reporting the resolved paths to a listener while parsing
+     *
+     * @param swaggerInputStream the Swagger source, closed when parsed
+     * @param location the location of the Swagger source, used to resolve relative references (null = no relative references)
+     * @param listener the listener of the paths
+     * @return the Swagger model
+     * @throws IOException if the source cannot be read or parsed, or if the listener fails
+     */
+    public static Swagger parse(InputStream swaggerInputStream, String location, Listener listener) throws IOException {
+        Validate.notNull(swaggerInputStream, "swaggerInputStream must not be null!");
+        Validate.notNull(listener, "listener must not be null!");
+        InputStream inputStream = new BufferedInputStream(swaggerInputStream);
+        JsonFactory factory = isJson(inputStream) ? Json.mapper().getFactory() : Yaml.mapper().getFactory();
+        ObjectMapper mapper = Json.mapper();
+        SwaggerDeserializer deserializer = new SwaggerDeserializer();
+
+        ObjectNode swaggerNode = mapper.createObjectNode();
+        Map<String, Path> paths = null;
+        Map<String, Model> definitions = null;
+        List<String> deferredPathNames = new ArrayList<>();
+        Swagger precedingSections = null;
+        try (JsonParser parser = factory.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                throw new IllegalArgumentException("Swagger source is not an object");
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (PATHS.equals(fieldName) && token == JsonToken.START_OBJECT) {
+                    paths = new LinkedHashMap<>();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String pathName = parser.getCurrentName();
+                        parser.nextToken();
+                        JsonNode pathNode = parser.readValueAsTree();
+                        if (!pathName.startsWith(VENDOR_EXTENSION_PREFIX)) {
+                            Path path = deserialize(deserializer, mapper, PATHS, pathName, pathNode).getPath(pathName);
+                            if (listener != NO_LISTENER && isResolvable(pathNode, swaggerNode)) {
+                                if (precedingSections == null)
+                                    precedingSections = deserializer.deserialize(swaggerNode).getSwagger();
+                                path = resolve(precedingSections, location, pathName, path);
+                                paths.put(pathName, path);
+                                listener.onPath(pathName, path, precedingSections);
+                            } else {
+                                paths.put(pathName, path);
+                                deferredPathNames.add(pathName);
+                            }
+                        }
+                    }
+                } else if (DEFINITIONS.equals(fieldName) && token == JsonToken.START_OBJECT) {
+                    definitions = new LinkedHashMap<>();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String definitionName = parser.getCurrentName();
+                        parser.nextToken();
+                        JsonNode definitionNode = parser.readValueAsTree();
+                        Model model = deserialize(deserializer, mapper, DEFINITIONS, definitionName, definitionNode).getDefinitions().get(definitionName);
+                        definitions.put(definitionName, model);
+                    }
+                } else {
+                    swaggerNode.set(fieldName, parser.<JsonNode>readValueAsTree());
+                }
+            }
+        }
+
+        Swagger swagger = deserializer.deserialize(swaggerNode).getSwagger();
+        Validate.isTrue(SWAGGER_VERSION.equals(swagger.getSwagger()), "Only Swagger 2.0 sources can be parsed, found version '%s'", swagger.getSwagger());
+        if (definitions != null)
+            swagger.setDefinitions(definitions);
+        if (paths == null)
+            return new SwaggerResolver(swagger, null, location).resolve();
+
+        // The paths reported while parsing are already resolved
+        Map<String, Path> deferredPaths = new LinkedHashMap<>();
+        for (String pathName : deferredPathNames)
+            deferredPaths.put(pathName, paths.get(pathName));
+        swagger.setPaths(deferredPaths);
+        new SwaggerResolver(swagger, null, location).resolve();
+        for (Map.Entry<String, Path> deferredPath : swagger.getPaths().entrySet()) {
+            paths.put(deferredPath.getKey(), deferredPath.getValue());
+            listener.onPath(deferredPath.getKey(), deferredPath.getValue(), swagger);
+        }
+        swagger.setPaths(paths);
+        return swagger;
+    }
+
+    /**
+     * Checks if a path can be resolved with the sections parsed so far: it must only refer to definitions, and to
+     * global parameters, global responses and security definitions which have already been parsed.
+     * Definitions need not be parsed, because references to definitions are not resolved.
+     */
+    private static boolean isResolvable(JsonNode pathNode, ObjectNode swaggerNode) {
+        for (String ref : pathNode.findValuesAsText(REF)) {
+            if (ref.startsWith(PARAMETERS_REF_PREFIX)) {
+                if (!swaggerNode.has(PARAMETERS))
+                    return false;
+            } else if (ref.startsWith(RESPONSES_REF_PREFIX)) {
+                if (!swaggerNode.has(RESPONSES))
+                    return false;
+            } else if (!ref.startsWith(INTERNAL_REF_PREFIX)) {
+                return false;
+            }
+        }
+        return pathNode.findValue(SECURITY) == null || swaggerNode.has(SECURITY_DEFINITIONS);
+    }
+
+    /**
+     * Resolves the references of a single path to the global parameters and responses of the sections preceding the paths
+     */
+    private static Path resolve(Swagger precedingSections, String location, String pathName, Path path) {
+        Map<String, Path> paths = new LinkedHashMap<>();
+        paths.put(pathName, path);
+        Swagger swagger = new Swagger();
+        swagger.setParameters(precedingSections.getParameters());
+        swagger.setResponses(precedingSections.getResponses());
+        swagger.setPaths(paths);
+        return new SwaggerResolver(swagger, null, location).resolve().getPath(pathName);
+    }
+
+    /**
+     * Deserializes a single path or definition, wrapped into an otherwise empty Swagger source
+     */
+    private static Swagger deserialize(SwaggerDeserializer deserializer, ObjectMapper mapper, String fieldName, String entryName, JsonNode entryNode) {
+        ObjectNode swaggerNode = mapper.createObjectNode();
+        swaggerNode.put(SWAGGER, SWAGGER_VERSION);
+        swaggerNode.putObject(fieldName).set(entryName, entryNode);
+        return deserializer.deserialize(swaggerNode).getSwagger();
+    }
+
+    private static boolean isJson(InputStream inputStream) throws IOException {
+        inputStream.mark(Integer.MAX_VALUE);
+        try {
+            int character;
+            do {
+                character = inputStream.read();
+            } while (Character.isWhitespace(character) || character == 0xEF || character == 0xBB || character == 0xBF);
+            return character == '{';
+        } finally {
+            inputStream.reset();
+        }
+    }
+}
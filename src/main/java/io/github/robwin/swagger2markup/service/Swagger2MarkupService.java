@@ -0,0 +1,386 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.service;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.github.robwin.markup.builder.MarkupLanguage;
+import io.github.robwin.swagger2markup.GroupBy;
+import io.github.robwin.swagger2markup.OrderBy;
+import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
+import io.swagger.models.Swagger;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Embeddable HTTP service converting Swagger sources, based on the HTTP server of the JDK.
+ * <p>
+ * A Swagger YAML or JSON source is POSTed to {@code /convert}, and the settings are given as query parameters:
+ * {@code markupLanguage}, {@code outputLanguage}, {@code pathsGroupedBy}, {@code definitionsOrderedBy},
+ * {@code inlineSchemaDepthLevel}, {@code flatBody}, {@code interDocumentCrossReferences}, {@code separatedDefinitions},
+ * {@code separatedOperations} and {@code format}. The response is either all the documents as markup ({@code format=markup},
+ * the default), or a zip of the generated files ({@code format=zip}). Separated definitions and operations are files, and require
+ * {@code format=zip}. Hand-written descriptions, examples and schemas are not supported.
+ * <p>
+ * Results are cached by hash of the source, fingerprint of the configuration and format, in a cache bounded by the size of the results.
+ * Identical requests received while the result is being computed wait for it instead of converting the source again.
+ */
+public class Swagger2MarkupService implements Closeable {
+
+    public static final String CONVERT_PATH = "/convert";
+
+    /**
+     * The maximum size of a Swagger source, in bytes
+     */
+    public static final int MAX_SPEC_BYTES = 32 * 1024 * 1024;
+
+    private static final Logger LOG = LoggerFactory.getLogger(Swagger2MarkupService.class);
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setNameFormat("swagger2markup-service-%d").setDaemon(true).build();
+    private static final String MARKUP_FORMAT = "markup";
+    private static final String ZIP_FORMAT = "zip";
+    private static final List<String> ZIP_ONLY_PARAMETERS = Arrays.asList("separatedDefinitions", "separatedOperations");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Cache<String, Result> results;
+    // Guava counts the requests waiting for an identical request as misses, conversions are counted separately
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong conversionCount = new AtomicLong();
+
+    /**
+     * Creates a service listening to a port of the loopback address. The service must be started.
+     *
+     * @param port the port (0 = any free port)
+     * @param threads the number of requests handled concurrently
+     * @param cacheMaxBytes the maximum total size of the cached results, in bytes
+     * @throws IOException if the port cannot be bound
+     */
+    public Swagger2MarkupService(int port, int threads, long cacheMaxBytes) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), threads, cacheMaxBytes);
+    }
+
+    /**
+     * Creates a service listening to an address. The service must be started.
+     *
+     * @param address the address
+     * @param threads the number of requests handled concurrently
+     * @param cacheMaxBytes the maximum total size of the cached results, in bytes
+     * @throws IOException if the address cannot be bound
+     */
+    public Swagger2MarkupService(InetSocketAddress address, int threads, long cacheMaxBytes) throws IOException {
+        Validate.isTrue(threads >= 1, "threads must be at least 1!");
+        Validate.isTrue(cacheMaxBytes > 0, "cacheMaxBytes must be positive!");
+        this.results = CacheBuilder.newBuilder()
+                .maximumWeight(cacheMaxBytes)
+                .weigher(new Weigher<String, Result>() {
+                    @Override
+                    public int weigh(String key, Result result) {
+                        return result.content.length;
+                    }
+                })
+                .build();
+        this.executor = Executors.newFixedThreadPool(threads, THREAD_FACTORY);
+        this.server = HttpServer.create(address, 0);
+        this.server.setExecutor(executor);
+        this.server.createContext(CONVERT_PATH, new ConvertHandler());
+    }
+
+    /**
+     * Starts handling requests
+     */
+    public void start() {
+        server.start();
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Conversion service listening on {}", getAddress());
+        }
+    }
+
+    /**
+     * Stops handling requests, without waiting for the pending ones
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the address the service listens to, e.g. to know the port chosen by the system
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Returns the number of conversions, i.e. of requests which neither found their result in the cache, nor waited for an identical request
+     */
+    public long getConversionCount() {
+        return conversionCount.get();
+    }
+
+    /**
+     * Returns the number of requests which found their result in the cache or waited for an identical request
+     */
+    public long getHitCount() {
+        return requestCount.get() - conversionCount.get();
+    }
+
+    private class ConvertHandler implements HttpHandler {
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                if (!"POST".equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", "POST");
+                    send(exchange, 405, "Only POST is supported");
+                    return;
+                }
+                final Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+                final String format = parameters.containsKey("format") ? parameters.remove("format") : MARKUP_FORMAT;
+                Validate.isTrue(MARKUP_FORMAT.equals(format) || ZIP_FORMAT.equals(format), "Unknown format: %s", format);
+                if (MARKUP_FORMAT.equals(format)) {
+                    for (String zipOnlyParameter : ZIP_ONLY_PARAMETERS)
+                        Validate.isTrue(!Boolean.parseBoolean(parameters.get(zipOnlyParameter)), "%s requires format=zip", zipOnlyParameter);
+                }
+                final byte[] spec = readSpec(exchange.getRequestBody());
+                if (spec == null) {
+                    send(exchange, 413, "The Swagger source exceeds " + MAX_SPEC_BYTES + " bytes");
+                    return;
+                }
+
+                // The fingerprint does not depend on the Swagger source, it is computed without parsing it
+                String fingerprint = configure(Swagger2MarkupConverter.from(new Swagger()), parameters).build().getConfigFingerprint();
+                String key = Hashing.sha256().hashBytes(spec) + "/" + fingerprint + "/" + format;
+                requestCount.incrementAndGet();
+                Result result = results.get(key, new Callable<Result>() {
+                    @Override
+                    public Result call() throws IOException {
+                        conversionCount.incrementAndGet();
+                        return convert(spec, parameters, format);
+                    }
+                });
+
+                exchange.getResponseHeaders().set("Content-Type", result.contentType);
+                exchange.sendResponseHeaders(200, result.content.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(result.content);
+                }
+            } catch (ExecutionException | UncheckedExecutionException e) {
+                handleException(exchange, e.getCause());
+            } catch (Exception e) {
+                handleException(exchange, e);
+            } finally {
+                exchange.close();
+            }
+        }
+
+        /**
+         * Sends the error response of a failed request.
+         * If the response headers have already been sent, e.g. when writing the result failed, the error is only logged
+         * and the exchange is closed by the caller, so that the client sees a truncated response.
+         */
+        private void handleException(HttpExchange exchange, Throwable e) throws IOException {
+            if (exchange.getResponseCode() != -1) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Response failed after its headers were sent", e);
+                }
+            } else if (e instanceof IllegalArgumentException) {
+                send(exchange, 400, e.getMessage());
+            } else {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Conversion failed", e);
+                }
+                send(exchange, 500, "Conversion failed: " + Throwables.getRootCause(e));
+            }
+        }
+    }
+
+    private static Result convert(byte[] spec, Map<String, String> parameters, String format) throws IOException {
+        Swagger2MarkupConverter converter = configure(Swagger2MarkupConverter.fromString(new String(spec, StandardCharsets.UTF_8)), parameters).build();
+        if (MARKUP_FORMAT.equals(format))
+            return new Result("text/plain; charset=UTF-8", converter.asString().getBytes(StandardCharsets.UTF_8));
+
+        Path folder = Files.createTempDirectory("swagger2markup-service");
+        try {
+            converter.intoFolder(folder.toString());
+            return new Result("application/zip", zip(folder.toFile()));
+        } finally {
+            FileUtils.deleteQuietly(folder.toFile());
+        }
+    }
+
+    /**
+     * Applies the settings given as query parameters to a Builder
+     *
+     * @throws IllegalArgumentException if a parameter is unknown or has an invalid value
+     */
+    private static Swagger2MarkupConverter.Builder configure(Swagger2MarkupConverter.Builder builder, Map<String, String> parameters) {
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            String value = parameter.getValue();
+            switch (parameter.getKey()) {
+                case "markupLanguage":
+                    builder.withMarkupLanguage(MarkupLanguage.valueOf(value.toUpperCase(Locale.ENGLISH)));
+                    break;
+                case "outputLanguage":
+                    builder.withOutputLocaleLanguage(Locale.forLanguageTag(value));
+                    break;
+                case "pathsGroupedBy":
+                    builder.withPathsGroupedBy(GroupBy.valueOf(value.toUpperCase(Locale.ENGLISH)));
+                    break;
+                case "definitionsOrderedBy":
+                    builder.withDefinitionsOrderedBy(OrderBy.valueOf(value.toUpperCase(Locale.ENGLISH)));
+                    break;
+                case "inlineSchemaDepthLevel":
+                    builder.withInlineSchemaDepthLevel(Integer.parseInt(value));
+                    break;
+                case "flatBody":
+                    if (Boolean.parseBoolean(value))
+                        builder.withFlatBody();
+                    break;
+                case "interDocumentCrossReferences":
+                    if (Boolean.parseBoolean(value))
+                        builder.withInterDocumentCrossReferences();
+                    break;
+                case "separatedDefinitions":
+                    if (Boolean.parseBoolean(value))
+                        builder.withSeparatedDefinitions();
+                    break;
+                case "separatedOperations":
+                    if (Boolean.parseBoolean(value))
+                        builder.withSeparatedOperations();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown parameter: " + parameter.getKey());
+            }
+        }
+        return builder;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) throws IOException {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                if (parameter.isEmpty())
+                    continue;
+                int separator = parameter.indexOf('=');
+                String name = separator == -1 ? parameter : parameter.substring(0, separator);
+                String value = separator == -1 ? "" : parameter.substring(separator + 1);
+                parameters.put(URLDecoder.decode(name, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Reads the Swagger source of a request
+     *
+     * @return the Swagger source, or null if it exceeds {@link #MAX_SPEC_BYTES}
+     */
+    private static byte[] readSpec(InputStream body) throws IOException {
+        ByteArrayOutputStream spec = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            if (spec.size() + read > MAX_SPEC_BYTES)
+                return null;
+            spec.write(buffer, 0, read);
+        }
+        return spec.toByteArray();
+    }
+
+    /**
+     * Zips the files of a folder, in the order of their relative paths
+     */
+    private static byte[] zip(File folder) throws IOException {
+        Map<String, File> files = new TreeMap<>();
+        Collection<File> folderFiles = FileUtils.listFiles(folder, null, true);
+        for (File file : folderFiles)
+            files.put(folder.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/'), file);
+
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutput = new ZipOutputStream(zip)) {
+            for (Map.Entry<String, File> file : files.entrySet()) {
+                zipOutput.putNextEntry(new ZipEntry(file.getKey()));
+                Files.copy(file.getValue().toPath(), zipOutput);
+                zipOutput.closeEntry();
+            }
+        }
+        return zip.toByteArray();
+    }
+
+    private static void send(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] content = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, content.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(content);
+        }
+    }
+
+    /**
+     * A cached conversion result
+     */
+    private static class Result {
+        private final String contentType;
+        private final byte[] content;
+
+        Result(String contentType, byte[] content) {
+            this.contentType = contentType;
+            this.content = content;
+        }
+    }
+}
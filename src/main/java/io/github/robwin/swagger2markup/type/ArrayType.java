@@ -2,6 +2,8 @@ package io.github.robwin.swagger2markup.type;
 
 import io.github.robwin.markup.builder.MarkupDocBuilder;
 
+import java.util.Arrays;
+
 /**
  * Array type abstraction
  */
@@ -27,4 +29,12 @@ public class ArrayType extends Type {
             collectionFormat = this.collectionFormat + " ";
         return collectionFormat + ofType.displaySchema(docBuilder) + " array";
     }
+
+    @Override
+    public Object getSchemaKey() {
+        Object ofTypeKey = ofType.getSchemaKey();
+        if (ofTypeKey == null)
+            return null;
+        return Arrays.asList("array", collectionFormat, ofTypeKey);
+    }
 }
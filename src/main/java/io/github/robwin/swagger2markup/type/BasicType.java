@@ -2,6 +2,8 @@ package io.github.robwin.swagger2markup.type;
 
 import io.github.robwin.markup.builder.MarkupDocBuilder;
 
+import java.util.Arrays;
+
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 /**
@@ -27,4 +29,9 @@ public class BasicType extends Type {
         else
             return this.name;
     }
+
+    @Override
+    public Object getSchemaKey() {
+        return Arrays.asList("basic", name, format);
+    }
 }
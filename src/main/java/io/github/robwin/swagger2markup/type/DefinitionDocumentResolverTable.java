@@ -0,0 +1,39 @@
+package io.github.robwin.swagger2markup.type;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@code DefinitionDocumentResolver} backed by a table precomputed once for a set of definition names.
+ * The table is immutable, so that the resolver can be shared between threads.
+ * Definitions missing from the table are delegated to the resolver used to compute the table.
+ */
+public class DefinitionDocumentResolverTable implements DefinitionDocumentResolver {
+
+    private final Map<String, String> documents;
+    private final DefinitionDocumentResolver resolver;
+
+    /**
+     * @param definitionNames the definition names to precompute
+     * @param resolver the resolver used to compute the table
+     */
+    public DefinitionDocumentResolverTable(Collection<String> definitionNames, DefinitionDocumentResolver resolver) {
+        Map<String, String> documents = new HashMap<>();
+        for (String definitionName : definitionNames)
+            documents.put(definitionName, resolver.apply(definitionName));
+
+        this.documents = Collections.unmodifiableMap(documents);
+        this.resolver = resolver;
+    }
+
+    @Override
+    public String apply(String definitionName) {
+        String document = documents.get(definitionName);
+        if (document == null && !documents.containsKey(definitionName))
+            return resolver.apply(definitionName);
+
+        return document;
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.robwin.swagger2markup.type;
+
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thread-safe cache of displayed type schemas, keyed by {@link Type#getSchemaKey()}.
+ * A cache must only be shared between documents using the same markup language.
+ */
+public class DisplaySchemaCache {
+
+    private final ConcurrentMap<Object, String> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the displayed schema of a type, rendering it only once per schema key.
+     *
+     * @param type the type to display
+     * @param docBuilder the docbuilder to use for rendering
+     * @return the displayed schema
+     */
+    public String displaySchema(Type type, MarkupDocBuilder docBuilder) {
+        Object schemaKey = type.getSchemaKey();
+        if (schemaKey == null)
+            return type.displaySchema(docBuilder);
+
+        String schema = schemas.get(schemaKey);
+        if (schema == null) {
+            schema = type.displaySchema(docBuilder);
+            String previousSchema = schemas.putIfAbsent(schemaKey, schema);
+            if (previousSchema != null)
+                schema = previousSchema;
+        }
+        return schema;
+    }
+
+    public int size() {
+        return schemas.size();
+    }
+}
@@ -2,6 +2,7 @@ package io.github.robwin.swagger2markup.type;
 
 import io.github.robwin.markup.builder.MarkupDocBuilder;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.join;
@@ -22,4 +23,9 @@ public class EnumType extends Type {
     public String displaySchema(MarkupDocBuilder docBuilder) {
         return "enum" + " (" + join(values, ", ") + ")";
     }
+
+    @Override
+    public Object getSchemaKey() {
+        return Arrays.asList("enum", values);
+    }
 }
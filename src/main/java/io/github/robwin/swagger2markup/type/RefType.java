@@ -3,6 +3,8 @@ package io.github.robwin.swagger2markup.type;
 import io.github.robwin.markup.builder.MarkupDocBuilder;
 import io.github.robwin.markup.builder.MarkupDocBuilders;
 
+import java.util.Arrays;
+
 /**
  * Reference to a type defined elsewhere
  */
@@ -24,6 +26,11 @@ public class RefType extends Type {
         return docBuilder.copy().crossReference(getDocument(), getUniqueName(), getName()).toString();
     }
 
+    @Override
+    public Object getSchemaKey() {
+        return Arrays.asList("ref", document, uniqueName, name);
+    }
+
     public String getDocument() {
         return document;
     }
@@ -39,4 +39,13 @@ public abstract class Type {
     }
 
     public abstract String displaySchema(MarkupDocBuilder docBuilder);
+
+    /**
+     * Returns a key identifying the displayed schema of this type, so that it can be cached.
+     *
+     * @return the schema key, or null if the displayed schema must not be cached
+     */
+    public Object getSchemaKey() {
+        return null;
+    }
 }
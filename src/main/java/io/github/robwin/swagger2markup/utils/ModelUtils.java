@@ -19,13 +19,19 @@
 package io.github.robwin.swagger2markup.utils;
 
 import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMap;
 import io.github.robwin.swagger2markup.type.*;
 import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
 import io.swagger.models.Model;
 import io.swagger.models.ModelImpl;
 import io.swagger.models.RefModel;
+import io.swagger.models.properties.Property;
+import io.swagger.models.refs.RefFormat;
 import org.apache.commons.lang3.Validate;
 
+import java.util.Map;
+
 public final class ModelUtils {
 
     /**
@@ -47,4 +53,42 @@ public final class ModelUtils {
         }
         return null;
     }
+
+    /**
+     * Retrieves all the properties of a model, including the properties of referenced and composed models
+     *
+     * @param definitions all available definitions
+     * @param model the model
+     * @return the properties of the model, or null if the model references an unknown definition
+     */
+    public static Map<String, Property> getAllProperties(Map<String, Model> definitions, Model model) {
+        if(model instanceof RefModel) {
+            RefModel refModel = (RefModel)model;
+            String ref;
+            if(refModel.getRefFormat().equals(RefFormat.INTERNAL)){
+                ref = refModel.getSimpleRef();
+            }else{
+                ref = model.getReference();
+            }
+            return definitions.containsKey(ref)
+                    ? getAllProperties(definitions, definitions.get(ref))
+                    : null;
+        }
+        if(model instanceof ComposedModel) {
+            ComposedModel composedModel = (ComposedModel)model;
+            ImmutableMap.Builder<String, Property> allProperties = ImmutableMap.builder();
+            if(composedModel.getAllOf() != null) {
+                for(Model innerModel : composedModel.getAllOf()) {
+                    Map<String, Property> innerProperties = getAllProperties(definitions, innerModel);
+                    if(innerProperties != null) {
+                        allProperties.putAll(innerProperties);
+                    }
+                }
+            }
+            return allProperties.build();
+        }
+        else {
+            return model.getProperties();
+        }
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.utils;
+
+import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.parameters.AbstractSerializableParameter;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.RefParameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.refs.RefFormat;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Collects the definitions referenced by the Swagger model, following the same rules as
+ * {@link PropertyUtils#getType}, {@link ParameterUtils#getType} and {@link ModelUtils#getType},
+ * plus the {@code allOf} models of composed models.
+ */
+public final class ReferenceUtils {
+
+    /**
+     * Collects the definitions directly referenced by an operation, through its parameters and responses
+     *
+     * @param operation the operation
+     * @param parameters the global parameters of the Swagger model, or null
+     * @param references the collection to add the referenced definition names to
+     */
+    public static void collectReferences(Operation operation, Map<String, Parameter> parameters, Collection<String> references) {
+        if (operation.getParameters() != null) {
+            for (Parameter parameter : operation.getParameters()) {
+                collectReferences(parameter, parameters, references);
+            }
+        }
+        if (operation.getResponses() != null) {
+            for (Response response : operation.getResponses().values()) {
+                if (response.getSchema() != null)
+                    collectReferences(response.getSchema(), references);
+            }
+        }
+    }
+
+    /**
+     * Collects the definitions directly referenced by a parameter.
+     * A parameter referencing a global parameter also references the definitions of the global parameter.
+     *
+     * @param parameter the parameter
+     * @param parameters the global parameters of the Swagger model, or null
+     * @param references the collection to add the referenced definition names to
+     */
+    public static void collectReferences(Parameter parameter, Map<String, Parameter> parameters, Collection<String> references) {
+        if (parameter instanceof BodyParameter) {
+            Model model = ((BodyParameter) parameter).getSchema();
+            if (model != null)
+                collectReferences(model, references);
+        } else if (parameter instanceof AbstractSerializableParameter) {
+            Property items = ((AbstractSerializableParameter) parameter).getItems();
+            if (items != null)
+                collectReferences(items, references);
+        } else if (parameter instanceof RefParameter) {
+            String simpleRef = ((RefParameter) parameter).getSimpleRef();
+            references.add(simpleRef);
+            Parameter globalParameter = parameters == null ? null : parameters.get(simpleRef);
+            if (globalParameter != null && !(globalParameter instanceof RefParameter))
+                collectReferences(globalParameter, parameters, references);
+        }
+    }
+
+    /**
+     * Collects the definitions directly referenced by a model
+     *
+     * @param model the model
+     * @param references the collection to add the referenced definition names to
+     */
+    public static void collectReferences(Model model, Collection<String> references) {
+        if (model instanceof RefModel) {
+            references.add(((RefModel) model).getSimpleRef());
+        } else if (model instanceof ArrayModel) {
+            Property items = ((ArrayModel) model).getItems();
+            if (items != null)
+                collectReferences(items, references);
+        } else if (model instanceof ComposedModel) {
+            ComposedModel composedModel = (ComposedModel) model;
+            if (composedModel.getAllOf() != null) {
+                for (Model innerModel : composedModel.getAllOf()) {
+                    collectReferences(innerModel, references);
+                }
+            }
+        } else {
+            collectReferences(model.getProperties(), references);
+            if (model instanceof ModelImpl && ((ModelImpl) model).getAdditionalProperties() != null)
+                collectReferences(((ModelImpl) model).getAdditionalProperties(), references);
+        }
+    }
+
+    /**
+     * Collects the definitions directly referenced by a property, including the properties of inline objects
+     *
+     * @param property the property
+     * @param references the collection to add the referenced definition names to
+     */
+    public static void collectReferences(Property property, Collection<String> references) {
+        if (property instanceof RefProperty) {
+            RefProperty refProperty = (RefProperty) property;
+            if (refProperty.getRefFormat() != RefFormat.RELATIVE)
+                references.add(refProperty.getSimpleRef());
+        } else if (property instanceof ArrayProperty) {
+            Property items = ((ArrayProperty) property).getItems();
+            if (items != null)
+                collectReferences(items, references);
+        } else if (property instanceof MapProperty) {
+            Property additionalProperties = ((MapProperty) property).getAdditionalProperties();
+            if (additionalProperties != null)
+                collectReferences(additionalProperties, references);
+        } else if (property instanceof ObjectProperty) {
+            collectReferences(((ObjectProperty) property).getProperties(), references);
+        }
+    }
+
+    private static void collectReferences(Map<String, Property> properties, Collection<String> references) {
+        if (properties != null) {
+            for (Property property : properties.values()) {
+                collectReferences(property, references);
+            }
+        }
+    }
+}
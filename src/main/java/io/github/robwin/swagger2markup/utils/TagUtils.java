@@ -19,8 +19,8 @@
 package io.github.robwin.swagger2markup.utils;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.MultimapBuilder;
 import com.google.common.collect.Ordering;
 import io.github.robwin.swagger2markup.PathOperation;
 import io.swagger.models.HttpMethod;
@@ -74,35 +74,80 @@ public class TagUtils {
      * The value of the Multimap is a PathOperation
      *
      * @param allOperations all operations
-     * @param tagOrdering comparator for tags
-     * @param operationOrdering comparator for operations, for a given tag
+     * @param tagOrdering comparator for tags (null = order of first use by the operations)
+     * @param operationOrdering comparator for operations, for a given tag (null = as-is ordering)
      * @return Operations grouped by Tag
      */
     public static Multimap<String, PathOperation> groupOperationsByTag(Set<PathOperation> allOperations, Comparator<String> tagOrdering, Comparator<PathOperation> operationOrdering) {
-        MultimapBuilder.MultimapBuilderWithKeys<String> multimapBuilderWithKeys;
+        return groupOperationsByTag(allOperations, null, tagOrdering, operationOrdering, false);
+    }
 
-        if (tagOrdering == null)
-            multimapBuilderWithKeys = MultimapBuilder.SortedSetMultimapBuilder.treeKeys(Ordering.<String>natural()); // FIXME as-is sorting not supported because of limitations in MultiMap::hashkeys(). Replaced with Ordering.natural()
-        else
-            multimapBuilderWithKeys = MultimapBuilder.SortedSetMultimapBuilder.treeKeys(tagOrdering);
+    /**
+     * Groups the operations by tag. The key of the Multimap is the tag name.
+     * The value of the Multimap is a PathOperation
+     * The operations are sorted once for all tags, then grouped in a single pass, so that the operations of each tag keep the sorted order.
+     * Without tag ordering, the tags declared by the Swagger model come first in declaration order, then the other tags
+     * in order of first use by the operations.
+     *
+     * @param allOperations all operations
+     * @param declaredTags the tags declared by the Swagger model, or null
+     * @param tagOrdering comparator for tags (null = as-is ordering)
+     * @param operationOrdering comparator for operations, for a given tag (null = as-is ordering)
+     * @param summarizedLogging log the number of grouped operations and tags at INFO level, and each operation-tag pair at TRACE level only
+     * @return Operations grouped by Tag
+     */
+    public static Multimap<String, PathOperation> groupOperationsByTag(Set<PathOperation> allOperations, List<Tag> declaredTags, Comparator<String> tagOrdering, Comparator<PathOperation> operationOrdering, boolean summarizedLogging) {
+        Collection<PathOperation> orderedOperations = allOperations;
+        if (operationOrdering != null && !isSortedBy(allOperations, operationOrdering))
+            orderedOperations = Ordering.from(operationOrdering).sortedCopy(allOperations);
 
-        Multimap<String, PathOperation> operationsGroupedByTag;
-        if (operationOrdering == null)
-            operationsGroupedByTag = multimapBuilderWithKeys.hashSetValues().build();
-        else
-            operationsGroupedByTag = multimapBuilderWithKeys.treeSetValues(operationOrdering).build();
+        Map<String, List<PathOperation>> operationsByTag = new LinkedHashMap<>();
+        if (tagOrdering == null && declaredTags != null) {
+            for (Tag tag : declaredTags)
+                operationsByTag.put(tag.getName(), new ArrayList<PathOperation>());
+        }
 
-        for (PathOperation operation : allOperations) {
+        for (PathOperation operation : orderedOperations) {
             List<String> tags = operation.getOperation().getTags();
             Validate.notEmpty(tags, "Can't GroupBy.TAGS > Operation '%s' has not tags", operation);
             for (String tag : tags) {
-                if (LOG.isInfoEnabled()) {
+                List<PathOperation> tagOperations = operationsByTag.get(tag);
+                if (tagOperations == null) {
+                    tagOperations = new ArrayList<>();
+                    operationsByTag.put(tag, tagOperations);
+                } else if (!tagOperations.isEmpty() && tagOperations.get(tagOperations.size() - 1) == operation) {
+                    continue; // tag repeated by the operation
+                }
+                if (summarizedLogging) {
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("Added path operation '{}' to tag '{}'", operation, tag);
+                    }
+                } else if (LOG.isInfoEnabled()) {
                     LOG.info("Added path operation '{}' to tag '{}'", operation, tag);
                 }
-                operationsGroupedByTag.put(tag, operation);
+                tagOperations.add(operation);
             }
         }
 
-        return operationsGroupedByTag;
+        Collection<String> orderedTags = operationsByTag.keySet();
+        if (tagOrdering != null)
+            orderedTags = Ordering.from(tagOrdering).sortedCopy(orderedTags);
+
+        ImmutableListMultimap.Builder<String, PathOperation> operationsGroupedByTag = ImmutableListMultimap.builder();
+        for (String tag : orderedTags)
+            operationsGroupedByTag.putAll(tag, operationsByTag.get(tag));
+        Multimap<String, PathOperation> groupedOperations = operationsGroupedByTag.build();
+
+        if (summarizedLogging && LOG.isInfoEnabled()) {
+            LOG.info("Grouped {} path operations by {} tags", allOperations.size(), groupedOperations.keySet().size());
+        }
+        return groupedOperations;
+    }
+
+    /**
+     * Checks if a set of operations is already sorted by an ordering, e.g. the ordered operations of a conversion
+     */
+    private static boolean isSortedBy(Set<PathOperation> operations, Comparator<PathOperation> operationOrdering) {
+        return operations instanceof SortedSet && operationOrdering.equals(((SortedSet<PathOperation>) operations).comparator());
     }
 }
@@ -18,23 +18,67 @@
  */
 package io.github.robwin.swagger2markup;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Function;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.primitives.Bytes;
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.github.robwin.markup.builder.MarkupDocBuilder;
+import io.github.robwin.markup.builder.MarkupDocBuilders;
 import io.github.robwin.markup.builder.MarkupLanguage;
+import io.github.robwin.swagger2markup.parser.StreamingSwaggerParser;
+import io.github.robwin.swagger2markup.service.Swagger2MarkupService;
+import io.github.robwin.swagger2markup.type.DisplaySchemaCache;
+import io.github.robwin.swagger2markup.type.RefType;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.junit.Test;
+import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.fail;
@@ -43,6 +87,7 @@ import static org.assertj.core.api.BDDAssertions.assertThat;
 
 public class Swagger2MarkupConverterTest {
 
+    private static final long WATCH_TIMEOUT_SECONDS = 60;
 
     @Test
     public void testSwagger2AsciiDocConversionFromString() throws IOException {
@@ -61,6 +106,115 @@ public class Swagger2MarkupConverterTest {
                 asList("definitions.adoc", "overview.adoc", "paths.adoc", "security.adoc"));
     }
 
+    @Test
+    public void testSwagger2AsciiDocConversionFromStream() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File yamlFile = new File(Swagger2MarkupConverterTest.class.getResource("/yaml/swagger_inlineSchema.yaml").getFile());
+
+        //When
+        String jsonAsString = Swagger2MarkupConverter.fromStream(new FileInputStream(file)).build().asString();
+        String yamlAsString = Swagger2MarkupConverter.fromStream(new FileInputStream(yamlFile), yamlFile.getAbsolutePath()).build().asString();
+
+        //Then
+        assertThat(jsonAsString).isEqualTo(Swagger2MarkupConverter.from(file.getAbsolutePath()).build().asString());
+        assertThat(yamlAsString).isEqualTo(Swagger2MarkupConverter.from(yamlFile.getAbsolutePath()).build().asString());
+    }
+
+    @Test
+    public void testStreamingParserReportsPathsWhileParsing() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        byte[] pathsBeforeDefinitions = reorderedSwagger(file, "securityDefinitions", "responses", "parameters", "paths", "definitions");
+        final List<String> pathsReportedWhileParsing = new ArrayList<>();
+        final List<String> pathsReportedAfterParsing = new ArrayList<>();
+        final Map<String, Path> reportedPaths = new LinkedHashMap<>();
+        StreamingSwaggerParser.Listener listener = new StreamingSwaggerParser.Listener() {
+            @Override
+            public void onPath(String pathName, Path path, Swagger swagger) {
+                // The definitions follow the paths, so they are only known once the whole source is parsed
+                (swagger.getDefinitions() == null ? pathsReportedWhileParsing : pathsReportedAfterParsing).add(pathName);
+                reportedPaths.put(pathName, path);
+            }
+        };
+
+        //When
+        Swagger streamedSwagger = StreamingSwaggerParser.parse(new ByteArrayInputStream(pathsBeforeDefinitions), null, listener);
+
+        //Then
+        assertThat(pathsReportedWhileParsing).containsExactlyElementsOf(streamedSwagger.getPaths().keySet());
+        assertThat(pathsReportedAfterParsing).isEmpty();
+        for (Map.Entry<String, Path> path : streamedSwagger.getPaths().entrySet())
+            assertThat(reportedPaths.get(path.getKey())).isSameAs(path.getValue());
+        assertThat(Swagger2MarkupConverter.from(streamedSwagger).build().asString())
+                .isEqualTo(Swagger2MarkupConverter.from(file.getAbsolutePath()).build().asString());
+
+        //When
+        pathsReportedWhileParsing.clear();
+        reportedPaths.clear();
+        Swagger deferredSwagger = StreamingSwaggerParser.parse(new FileInputStream(file), null, listener);
+
+        //Then the security definitions follow the paths, so the paths with security requirements are reported once the source is parsed
+        assertThat(pathsReportedAfterParsing).isNotEmpty();
+        assertThat(reportedPaths.keySet()).containsOnlyElementsOf(deferredSwagger.getPaths().keySet()).hasSameSizeAs(deferredSwagger.getPaths().keySet());
+        assertThat(Swagger2MarkupConverter.from(deferredSwagger).build().asString())
+                .isEqualTo(Swagger2MarkupConverter.from(file.getAbsolutePath()).build().asString());
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionRendersOperationsWhileStreaming() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        byte[] pathsBeforeDefinitions = reorderedSwagger(file, "securityDefinitions", "responses", "parameters", "paths", "definitions");
+        final int definitionsOffset = Bytes.indexOf(pathsBeforeDefinitions, "\"definitions\":".getBytes(StandardCharsets.UTF_8));
+        final CountDownLatch operationRendered = new CountDownLatch(1);
+        final CancellationToken renderingObserver = new CancellationToken() {
+            @Override
+            public boolean isCancelled() {
+                if (Thread.currentThread().getName().startsWith("swagger2markup-render-"))
+                    operationRendered.countDown();
+                return false;
+            }
+        };
+        final AtomicBoolean renderedWhileParsing = new AtomicBoolean();
+        // Holds back the definitions until an operation has been rendered by a worker
+        InputStream swaggerStream = new FilterInputStream(new ByteArrayInputStream(pathsBeforeDefinitions)) {
+            private int position;
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (position < definitionsOffset)
+                    length = Math.min(length, definitionsOffset - position);
+                else if (position == definitionsOffset && !renderedWhileParsing.get())
+                    renderedWhileParsing.set(Uninterruptibles.awaitUninterruptibly(operationRendered, WATCH_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                int read = super.read(buffer, offset, length);
+                if (read > 0)
+                    position += read;
+                return read;
+            }
+        };
+        File streamedDirectory = new File("build/docs/asciidoc/streamed");
+        File expectedDirectory = new File("build/docs/asciidoc/notStreamed");
+        FileUtils.deleteQuietly(streamedDirectory);
+        FileUtils.deleteQuietly(expectedDirectory);
+
+        //When
+        Swagger2MarkupConverter.streamIntoFolder(swaggerStream, null, new Function<Swagger2MarkupConverter.Builder, Swagger2MarkupConverter.Builder>() {
+            @Override
+            public Swagger2MarkupConverter.Builder apply(Swagger2MarkupConverter.Builder builder) {
+                return builder.withParallelism(4).withCancellationToken(renderingObserver);
+            }
+        }, streamedDirectory.getAbsolutePath());
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).build().intoFolder(expectedDirectory.getAbsolutePath());
+
+        //Then
+        assertThat(renderedWhileParsing.get()).isTrue();
+        assertThat(streamedDirectory.list()).containsOnly(expectedDirectory.list());
+        for (String fileName : expectedDirectory.list())
+            assertThat(FileUtils.readFileToString(new File(streamedDirectory, fileName)))
+                    .isEqualTo(FileUtils.readFileToString(new File(expectedDirectory, fileName)));
+    }
+
     @Test
     public void testSwagger2AsciiDocConversionAsString() throws IOException {
         //Given
@@ -148,6 +302,29 @@ public class Swagger2MarkupConverterTest {
         }
     }
 
+    @Test
+    public void testSwagger2AsciiDocGroupedByTagsWithMissingTagAndPreflightValidation() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger_missing_tag.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/preflight");
+        FileUtils.deleteQuietly(outputDirectory);
+        //When
+        try {
+            Swagger2MarkupConverter.from(file.getAbsolutePath())
+                    .withPathsGroupedBy(GroupBy.TAGS)
+                    .withExamples("src/docs/missing")
+                    .withPreflightValidation()
+                    .build()
+                    .intoFolder(outputDirectory.getAbsolutePath());
+            failBecauseExceptionWasNotThrown(PreflightValidationException.class);
+        } catch (PreflightValidationException e) {
+            assertThat(e.getProblems()).contains(
+                    "Operation 'updatePet' has no tags, which are required to group the paths by tags",
+                    "Examples folder 'src/docs/missing' is not a readable directory");
+        }
+        assertThat(outputDirectory).doesNotExist();
+    }
+
     @Test
     public void testOldSwaggerSpec2AsciiDocConversion() throws IOException {
         //Given
@@ -259,6 +436,667 @@ public class Swagger2MarkupConverterTest {
                 asList("definitions.md", "overview.md", "paths.md", "security.md"));
     }
 
+    @Test
+    public void testSwagger2MarkupConversionIntoSeveralMarkupLanguages() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File asciiDocDirectory = new File("build/docs/multi/asciidoc");
+        File markdownDirectory = new File("build/docs/multi/markdown");
+        File expectedDirectory = new File("build/docs/multi/expected");
+        FileUtils.deleteQuietly(new File("build/docs/multi"));
+
+        //When
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS).build()
+                .intoFolders(ImmutableMap.of(
+                        MarkupLanguage.ASCIIDOC, asciiDocDirectory.getAbsolutePath(),
+                        MarkupLanguage.MARKDOWN, markdownDirectory.getAbsolutePath()));
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS)
+                .withMarkupLanguage(MarkupLanguage.MARKDOWN).build()
+                .intoFolder(expectedDirectory.getAbsolutePath());
+
+        //Then
+        assertThat(asciiDocDirectory.list()).hasSize(4).containsAll(
+                asList("definitions.adoc", "overview.adoc", "paths.adoc", "security.adoc"));
+        assertThat(markdownDirectory.list()).hasSize(4).containsAll(
+                asList("definitions.md", "overview.md", "paths.md", "security.md"));
+        for (String document : expectedDirectory.list()) {
+            assertThat(new File(markdownDirectory, document)).hasContentEqualTo(new File(expectedDirectory, document));
+        }
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionWithSelection() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/selection");
+        FileUtils.deleteQuietly(outputDirectory);
+
+        //When
+        Swagger2MarkupConverter.from(file.getAbsolutePath())
+                .withPathsGroupedBy(GroupBy.TAGS)
+                .withDocuments(DocumentType.PATHS, DocumentType.DEFINITIONS)
+                .withSelectedTags("store")
+                .withSelectedPaths("/stores/order/")
+                .withSelectedDefinitions("Order", "Unknown")
+                .build()
+                .intoFolder(outputDirectory.getAbsolutePath());
+
+        //Then
+        assertThat(outputDirectory.list()).hasSize(2).containsAll(
+                asList("definitions.adoc", "paths.adoc"));
+        String paths = new String(Files.readAllBytes(new File(outputDirectory, "paths.adoc").toPath()), Charset.forName("UTF-8"));
+        assertThat(paths).contains("== Store", "/stores/order/{orderId}").doesNotContain("== Pet").doesNotContain("Place an order for a pet");
+        String definitions = new String(Files.readAllBytes(new File(outputDirectory, "definitions.adoc").toPath()), Charset.forName("UTF-8"));
+        assertThat(definitions).contains("=== Order").doesNotContain("=== Pet").doesNotContain("=== Unknown");
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionWithUnreachableDefinitionsPruned() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/pruned");
+        FileUtils.deleteQuietly(outputDirectory);
+
+        //When
+        Swagger2MarkupConverter converter = Swagger2MarkupConverter.from(file.getAbsolutePath())
+                .withSelectedTags("store")
+                .withUnreachableDefinitionsPruned()
+                .build();
+        converter.intoFolder(outputDirectory.getAbsolutePath());
+
+        //Then
+        assertThat(converter.getPrunedDefinitions()).containsExactly("Category", "Identified", "Pet", "Tag", "User");
+        assertThat(converter.getPrunedDefinitions()).isSameAs(converter.getPrunedDefinitions());
+        String definitions = new String(Files.readAllBytes(new File(outputDirectory, "definitions.adoc").toPath()), Charset.forName("UTF-8"));
+        assertThat(definitions).contains("=== Order").doesNotContain("=== Pet").doesNotContain("=== User");
+    }
+
+    @Test
+    public void testDisplaySchemaCacheRendersOncePerSchemaKey() {
+        //Given
+        final AtomicInteger renders = new AtomicInteger();
+        DisplaySchemaCache displaySchemaCache = new DisplaySchemaCache();
+        MarkupDocBuilder docBuilder = MarkupDocBuilders.documentBuilder(MarkupLanguage.ASCIIDOC);
+
+        //When
+        String fromDefinition = displaySchemaCache.displaySchema(new CountingRefType("definitions.adoc", "Pet", renders), docBuilder);
+        String sameFromDefinition = displaySchemaCache.displaySchema(new CountingRefType("definitions.adoc", "Pet", renders), docBuilder);
+        String fromOperation = displaySchemaCache.displaySchema(new CountingRefType("../definitions.adoc", "Pet", renders), docBuilder);
+
+        //Then
+        assertThat(sameFromDefinition).isSameAs(fromDefinition);
+        assertThat(fromOperation).isNotEqualTo(fromDefinition);
+        assertThat(renders.get()).isEqualTo(2);
+        assertThat(displaySchemaCache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testDisplaySchemaCacheSeparatesReferencesFromOperationsAndDefinitions() throws IOException {
+        //Given
+        String swagger = "{\"swagger\": \"2.0\", \"info\": {\"title\": \"Cache\", \"version\": \"1\"},"
+                + " \"paths\": {\"/a\": {\"get\": {\"operationId\": \"getA\","
+                + " \"responses\": {\"200\": {\"description\": \"OK\", \"schema\": {\"$ref\": \"#/definitions/B\"}}}}}},"
+                + " \"definitions\": {\"A\": {\"type\": \"object\", \"properties\": {\"b\": {\"$ref\": \"#/definitions/B\"}}},"
+                + " \"B\": {\"type\": \"object\", \"properties\": {\"name\": {\"type\": \"string\"}}}}}";
+        File outputDirectory = new File("build/docs/asciidoc/schemaCache");
+        FileUtils.deleteQuietly(outputDirectory);
+
+        //When
+        Swagger2MarkupConverter.fromString(swagger).withSeparatedOperations().withInterDocumentCrossReferences()
+                .build().intoFolder(outputDirectory.getAbsolutePath());
+
+        //Then
+        String operation = FileUtils.readFileToString(new File(outputDirectory, "operations/geta.adoc"), "UTF-8");
+        String definitions = FileUtils.readFileToString(new File(outputDirectory, "definitions.adoc"), "UTF-8");
+        assertThat(operation).contains("../definitions.adoc#");
+        assertThat(definitions).contains("definitions.adoc#").doesNotContain("../definitions.adoc#");
+    }
+
+    @Test
+    public void testDefinitionDependencyIndex() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        Swagger swagger = new SwaggerParser().read(file.getAbsolutePath());
+
+        //When
+        DefinitionDependencyIndex index = new DefinitionDependencyIndex(swagger);
+
+        //Then
+        assertThat(index.getDefinitionDependencies("Pet")).containsOnly("Category", "Tag");
+        assertThat(index.getDefinitionDependents("Category")).containsOnly("Pet");
+        assertThat(index.getTransitiveDefinitionDependents("Category")).containsOnly("Pet");
+        assertThat(index.getOperationDependents("Category")).isEmpty();
+        assertThat(index.getTransitiveOperationDependents("Category")).extracting("id")
+                .contains("addPet", "updatePet", "getPetById").doesNotContain("placeOrder", "createUser");
+        assertThat(index.getOperationDependents("Order")).extracting("id").containsOnly("placeOrder", "getOrderById");
+    }
+
+    @Test
+    public void testDefinitionDependencyIndexWithNewPathOperation() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        Swagger swagger = new SwaggerParser().read(file.getAbsolutePath());
+        DefinitionDependencyIndex index = new DefinitionDependencyIndex(swagger);
+
+        //When
+        PathOperation placeOrder = new PathOperation(HttpMethod.POST, "/stores/order", swagger.getPath("/stores/order").getPost());
+
+        //Then
+        assertThat(index.getDefinitionDependencies(placeOrder)).containsOnly("Order");
+        assertThat(index.getTransitiveDefinitionDependencies(asList(placeOrder))).containsOnly("Order");
+    }
+
+    @Test
+    public void testSwagger2MarkupTablesDoNotDependOnPreviousTables() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        Swagger swagger = new SwaggerParser().read(file.getAbsolutePath());
+        ModelImpl manyProperties = new ModelImpl().type(ModelImpl.OBJECT);
+        for (int i = 0; i < 40; i++) {
+            StringProperty property = new StringProperty();
+            property.setDescription("Property " + i);
+            manyProperties.addProperty(String.format("property%02d", i), property);
+        }
+        swagger.addDefinition("ManyProperties", manyProperties);
+
+        for (MarkupLanguage markupLanguage : asList(MarkupLanguage.ASCIIDOC, MarkupLanguage.MARKDOWN)) {
+            //When
+            // The tables of an operation or definition rendered alone are the first tables using the column specs of their document
+            String operation = Swagger2MarkupConverter.from(swagger).withMarkupLanguage(markupLanguage).build().operationAsString("addPet");
+            String definition = Swagger2MarkupConverter.from(swagger).withMarkupLanguage(markupLanguage).build().definitionAsString("ManyProperties");
+            Swagger2MarkupConverter converter = Swagger2MarkupConverter.from(swagger).withMarkupLanguage(markupLanguage).build();
+            String asString = converter.asString();
+
+            //Then
+            assertThat(operation).contains("petstore_auth").contains("405");
+            assertThat(definition).contains("property00").contains("property39");
+            assertThat(asString).contains(operation).contains(definition);
+            assertThat(converter.operationAsString("addPet")).isEqualTo(operation);
+            assertThat(converter.definitionAsString("ManyProperties")).isEqualTo(definition);
+        }
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionWithSpillThreshold() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/spilled");
+        File expectedDirectory = new File("build/docs/asciidoc/notspilled");
+        FileUtils.deleteQuietly(outputDirectory);
+        FileUtils.deleteQuietly(expectedDirectory);
+
+        //When
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS).withSpillThreshold(100).build()
+                .intoFolder(outputDirectory.getAbsolutePath());
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS).build()
+                .intoFolder(expectedDirectory.getAbsolutePath());
+
+        //Then
+        assertThat(outputDirectory.list()).hasSize(4);
+        for (String document : expectedDirectory.list()) {
+            assertThat(new File(outputDirectory, document)).hasContentEqualTo(new File(expectedDirectory, document));
+        }
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionWithParallelism() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File yamlFile = new File(Swagger2MarkupConverterTest.class.getResource("/yaml/swagger_inlineSchema.yaml").getFile());
+        Set<String> spillFiles = spillFiles();
+
+        //When
+        String asString = Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS).withParallelism(4).build()
+                .asString();
+        String spilledAsString = Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS).withParallelism(4)
+                .withSpillThreshold(100).build().asString();
+        String inlineSchemaAsString = Swagger2MarkupConverter.from(yamlFile.getAbsolutePath()).withInlineSchemaDepthLevel(1).withParallelism(2).build()
+                .asString();
+
+        //Then
+        String expectedAsString = Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS).build().asString();
+        assertThat(asString).isEqualTo(expectedAsString);
+        assertThat(spilledAsString).isEqualTo(expectedAsString);
+        assertThat(spillFiles()).isEqualTo(spillFiles);
+        assertThat(inlineSchemaAsString).isEqualTo(Swagger2MarkupConverter.from(yamlFile.getAbsolutePath()).withInlineSchemaDepthLevel(1).build()
+                .asString());
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionWithCancellationToken() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        CancellationToken cancellationToken = new CancellationToken();
+        cancellationToken.cancel();
+
+        //When
+        try {
+            Swagger2MarkupConverter.from(file.getAbsolutePath()).withCancellationToken(cancellationToken).withParallelism(2).build()
+                    .asString();
+            failBecauseExceptionWasNotThrown(ConversionCancelledException.class);
+        } catch (ConversionCancelledException e) {
+            assertThat(e.isTimedOut()).isFalse();
+            assertThat(e.getStoppedAt()).isEqualTo("operation updatePet");
+        }
+        try {
+            Swagger2MarkupConverter.from(file.getAbsolutePath()).withDocuments(DocumentType.DEFINITIONS).withCancellationToken(cancellationToken).build()
+                    .asString();
+            failBecauseExceptionWasNotThrown(ConversionCancelledException.class);
+        } catch (ConversionCancelledException e) {
+            assertThat(e).hasMessage("Conversion cancelled before definition Category");
+        }
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionCancelledWhileRenderingInParallel() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        // Cancels the conversion once a few operations have been rendered by the workers
+        final AtomicInteger checks = new AtomicInteger();
+        CancellationToken cancellationToken = new CancellationToken() {
+            @Override
+            public boolean isCancelled() {
+                return checks.incrementAndGet() > 5;
+            }
+        };
+
+        //When
+        try {
+            Swagger2MarkupConverter.from(file.getAbsolutePath()).withCancellationToken(cancellationToken).withParallelism(4).build()
+                    .asString();
+            failBecauseExceptionWasNotThrown(ConversionCancelledException.class);
+        } catch (ConversionCancelledException e) {
+            assertThat(e.isTimedOut()).isFalse();
+        }
+
+        //Then
+        List<String> renderThreads = new ArrayList<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive() && thread.getName().startsWith("swagger2markup-render-"))
+                renderThreads.add(thread.getName());
+        }
+        assertThat(renderThreads).isEmpty();
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionWithProgressListener() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        final List<String> reports = new ArrayList<>();
+        ProgressListener progressListener = new ProgressListener() {
+            @Override
+            public void onProgress(DocumentType phase, int completed, int total) {
+                reports.add(phase + " " + completed + "/" + total);
+            }
+        };
+
+        //When
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).withProgressListener(progressListener).withParallelism(2).build()
+                .asString();
+
+        //Then
+        assertThat(reports).startsWith("PATHS 0/18").contains("PATHS 18/18", "DEFINITIONS 0/6").endsWith("DEFINITIONS 6/6");
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionWithSummarizedLogging() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+
+        Logger rootLogger = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        rootLogger.addAppender(appender);
+
+        //When
+        String asString;
+        try {
+            asString = Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS)
+                    .withDescriptions("src/docs/asciidoc").withSummarizedLogging().build().asString();
+        } finally {
+            rootLogger.detachAppender(appender);
+        }
+
+        //Then
+        assertThat(asString).isEqualTo(Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS)
+                .withDescriptions("src/docs/asciidoc").build().asString());
+        // The per-item messages are summarized by one line per level and document
+        List<String> pathsInfoSummaries = new ArrayList<>();
+        List<String> pathsWarnSummaries = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        for (ILoggingEvent event : appender.list) {
+            if (event.getLoggerName().startsWith("io.github.robwin.swagger2markup") && event.getLevel().isGreaterOrEqual(Level.INFO)) {
+                messages.add(event.getFormattedMessage());
+                if (event.getFormattedMessage().startsWith("Paths document: "))
+                    (event.getLevel() == Level.INFO ? pathsInfoSummaries : pathsWarnSummaries).add(event.getFormattedMessage());
+            }
+        }
+        assertThat(pathsInfoSummaries).hasSize(1);
+        assertThat(pathsInfoSummaries.get(0)).contains("18 operations processed");
+        assertThat(pathsWarnSummaries).hasSize(1);
+        assertThat(pathsWarnSummaries.get(0)).contains("description files not readable");
+        assertThat(messages).contains("Grouped 18 path operations by 3 tags");
+        for (String message : messages)
+            assertThat(message).matches("(Paths document|Definitions document): .*|Grouped \\d+ path operations by \\d+ tags");
+    }
+
+    @Test
+    public void testSwagger2AsciiDocGroupedByTagsAsIs() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/yaml/swagger_ordering.yaml").getFile());
+
+        //When
+        String asString = Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS)
+                .withTagOrdering(null).withDocuments(DocumentType.PATHS).build().asString();
+
+        //Then
+        int tagB = asString.indexOf("=== B");
+        int tagC = asString.indexOf("=== C");
+        int tagA = asString.indexOf("=== A");
+        assertThat(tagB).isPositive().isLessThan(tagC);
+        assertThat(tagC).isLessThan(tagA);
+        assertThat(asString.indexOf("==== GET /A", tagC)).isLessThan(asString.indexOf("==== DELETE /A", tagC));
+    }
+
+    @Test
+    public void testSwagger2AsciiDocSingleOperationAndDefinition() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        Swagger2MarkupConverter converter = Swagger2MarkupConverter.from(file.getAbsolutePath()).build();
+        String asString = converter.asString();
+
+        //When
+        String operationById = converter.operationAsString("addPet");
+        String operationByPath = converter.operationAsString("GET /pets/{petId}");
+        String definition = converter.definitionAsString("Category");
+
+        //Then
+        assertThat(operationById).contains("Add a new pet to the store").doesNotContain("Find pet by ID");
+        assertThat(operationByPath).contains("Find pet by ID").doesNotContain("Add a new pet to the store");
+        assertThat(asString).contains(operationById, operationByPath, definition);
+        assertThat(definition).contains("Category").doesNotContain("Order");
+        try {
+            converter.operationAsString("GET /unknown");
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+            assertThat(e).hasMessage("Unknown operation: GET /unknown");
+        }
+    }
+
+    @Test
+    public void testSwagger2AsciiDocSingleOperationAndDefinitionWithFileOutputSettings() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        Swagger2MarkupConverter converter = Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS)
+                .withInterDocumentCrossReferences().withSeparatedOperations().withSeparatedDefinitions().withSeparatedTags()
+                .withChunking(5, 0).build();
+        String asString = Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS)
+                .withInterDocumentCrossReferences().build().asString();
+
+        //When
+        String operation = converter.operationAsString("addPet");
+        String definition = converter.definitionAsString("Pet");
+
+        //Then
+        assertThat(operation).contains("Add a new pet to the store", "<<Pet,Pet>>");
+        assertThat(definition).contains("<<Category,Category>>");
+        assertThat(asString).contains(operation, definition);
+    }
+
+    @Test
+    public void testSwagger2AsciiDocSingleOperationWithFragmentCache() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        FragmentCache fragmentCache = new FragmentCache(1024 * 1024);
+        Swagger2MarkupConverter converter = Swagger2MarkupConverter.from(file.getAbsolutePath()).withFragmentCache(fragmentCache).build();
+
+        //When
+        String operation = converter.operationAsString("addPet");
+        String cachedOperation = converter.operationAsString("addPet");
+        converter.definitionAsString("Category");
+
+        //Then
+        assertThat(cachedOperation).isSameAs(operation);
+        assertThat(fragmentCache.getHitCount()).isEqualTo(1);
+        assertThat(fragmentCache.getMissCount()).isEqualTo(2);
+        assertThat(fragmentCache.getSize()).isEqualTo(2);
+        assertThat(fragmentCache.getSizeInBytes()).isGreaterThan(2 * operation.length());
+
+        //When
+        FragmentCache tinyCache = new FragmentCache(operation.length(), 1);
+        Swagger2MarkupConverter tinyConverter = Swagger2MarkupConverter.from(file.getAbsolutePath()).withFragmentCache(tinyCache).build();
+        tinyConverter.operationAsString("addPet");
+
+        //Then
+        assertThat(tinyCache.getEvictionCount()).isEqualTo(1);
+        assertThat(tinyCache.getSize()).isZero();
+        assertThat(tinyCache.getSizeInBytes()).isZero();
+    }
+
+    @Test
+    public void testFragmentCacheSharedByConfigFingerprint() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File descriptionsDirectory = new File("build/docs/fingerprint/descriptions");
+        FileUtils.deleteQuietly(descriptionsDirectory);
+        File descriptionFile = new File(descriptionsDirectory, "definitions/category/description.adoc");
+        FileUtils.write(descriptionFile, "A category.", "UTF-8");
+        FragmentCache fragmentCache = new FragmentCache(1024 * 1024);
+
+        //When
+        String definition = Swagger2MarkupConverter.from(file.getAbsolutePath()).withDescriptions(descriptionsDirectory.getPath())
+                .withFragmentCache(fragmentCache).build().definitionAsString("Category");
+        String sameDefinition = Swagger2MarkupConverter.from(file.getAbsolutePath()).withDescriptions(descriptionsDirectory.getPath())
+                .withFragmentCache(fragmentCache).withParallelism(2).build().definitionAsString("Category");
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).withDescriptions(descriptionsDirectory.getPath())
+                .withFragmentCache(fragmentCache).withMarkupLanguage(MarkupLanguage.MARKDOWN).build().definitionAsString("Category");
+        FileUtils.write(descriptionFile, "An updated category.", "UTF-8");
+        String updatedDefinition = Swagger2MarkupConverter.from(file.getAbsolutePath()).withDescriptions(descriptionsDirectory.getPath())
+                .withFragmentCache(fragmentCache).build().definitionAsString("Category");
+
+        //Then
+        assertThat(definition).contains("A category.");
+        assertThat(sameDefinition).isSameAs(definition);
+        assertThat(updatedDefinition).contains("An updated category.");
+        assertThat(fragmentCache.getHitCount()).isEqualTo(1);
+        assertThat(fragmentCache.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void testSwagger2MarkupService() throws Exception {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        final byte[] spec = Files.readAllBytes(file.toPath());
+        String expected = Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS).build().asString();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try (Swagger2MarkupService service = new Swagger2MarkupService(0, 4, 16 * 1024 * 1024)) {
+            service.start();
+            final String baseUrl = "http://localhost:" + service.getAddress().getPort() + Swagger2MarkupService.CONVERT_PATH;
+
+            //When
+            String asString = new String(post(baseUrl + "?pathsGroupedBy=tags", spec), Charset.forName("UTF-8"));
+            String sameAsString = new String(post(baseUrl + "?pathsGroupedBy=tags", spec), Charset.forName("UTF-8"));
+            List<Future<byte[]>> zips = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                zips.add(executor.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws Exception {
+                        return post(baseUrl + "?format=zip&markupLanguage=markdown", spec);
+                    }
+                }));
+            }
+            List<String> zipEntries = new ArrayList<>();
+            try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(zips.get(0).get()))) {
+                for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry())
+                    zipEntries.add(entry.getName());
+            }
+            for (Future<byte[]> zip : zips)
+                assertThat(zip.get()).isEqualTo(zips.get(0).get());
+
+            //Then
+            assertThat(asString).isEqualTo(expected);
+            assertThat(sameAsString).isEqualTo(expected);
+            assertThat(zipEntries).containsExactly("definitions.md", "overview.md", "paths.md", "security.md");
+            assertThat(service.getConversionCount()).isEqualTo(2);
+            assertThat(service.getHitCount()).isEqualTo(4);
+            assertThat(responseCode(baseUrl + "?unknown=true", spec)).isEqualTo(400);
+            assertThat(responseCode(baseUrl + "?separatedDefinitions=true", spec)).isEqualTo(400);
+            assertThat(responseCode(baseUrl + "?format=markup&separatedOperations=true", spec)).isEqualTo(400);
+            assertThat(responseCode(baseUrl + "?format=zip&separatedOperations=true&separatedDefinitions=true", spec)).isEqualTo(200);
+            assertThat(responseCode(baseUrl, "not a Swagger source".getBytes(Charset.forName("UTF-8")))).isEqualTo(400);
+            assertThat(((HttpURLConnection) new URL(baseUrl).openConnection()).getResponseCode()).isEqualTo(405);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSwagger2MarkupWatcher() throws Exception {
+        //Given
+        File watchDirectory = new File("build/docs/watch");
+        FileUtils.deleteQuietly(watchDirectory);
+        File swaggerFile = new File(watchDirectory, "spec/swagger.json");
+        FileUtils.copyFile(new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile()), swaggerFile);
+        final File descriptionsDirectory = new File(watchDirectory, "descriptions");
+        File operationDescription = new File(descriptionsDirectory, "paths/addpet/description.adoc");
+        File definitionDescription = new File(descriptionsDirectory, "definitions/category/description.adoc");
+        FileUtils.forceMkdir(operationDescription.getParentFile());
+        FileUtils.forceMkdir(definitionDescription.getParentFile());
+        File outputDirectory = new File(watchDirectory, "generated");
+        final LinkedBlockingQueue<String> regenerations = new LinkedBlockingQueue<>();
+
+        try (Swagger2MarkupWatcher watcher = new Swagger2MarkupWatcher(swaggerFile.getPath(), new Function<Swagger2MarkupConverter.Builder, Swagger2MarkupConverter.Builder>() {
+            @Override
+            public Swagger2MarkupConverter.Builder apply(Swagger2MarkupConverter.Builder builder) {
+                return builder.withDescriptions(descriptionsDirectory.getPath()).withSeparatedOperations();
+            }
+        }, outputDirectory.getPath(), 100, new Swagger2MarkupWatcher.Listener() {
+            @Override
+            public void regenerated(Set<java.nio.file.Path> changedFiles, boolean fullConversion, Set<String> rewrittenFiles) {
+                regenerations.add(fullConversion + " " + rewrittenFiles);
+            }
+        })) {
+            watcher.start();
+
+            //When
+            // The watch service of some platforms, e.g. macOS, polls the file system only every few seconds
+            FileUtils.write(operationDescription, "A watched pet.", "UTF-8");
+            String operationRegeneration = regenerations.poll(WATCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            awaitFileContaining(new File(outputDirectory, "operations/addpet.adoc"), "A watched pet.");
+            FileUtils.write(definitionDescription, "A watched category.", "UTF-8");
+            String definitionRegeneration = regenerations.poll(WATCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            awaitFileContaining(new File(outputDirectory, "definitions.adoc"), "A watched category.");
+            FileUtils.write(swaggerFile, FileUtils.readFileToString(swaggerFile, "UTF-8").replace("\"addPet\"", "\"addNewPet\""), "UTF-8");
+            String swaggerRegeneration = regenerations.poll(WATCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            awaitFileContaining(new File(outputDirectory, "operations/addnewpet.adoc"), "Add a new pet to the store");
+
+            //Then
+            assertThat(operationRegeneration).isEqualTo("false [operations/addpet.adoc]");
+            assertThat(FileUtils.readFileToString(new File(outputDirectory, "operations/addpet.adoc"), "UTF-8")).contains("A watched pet.");
+            assertThat(definitionRegeneration).isEqualTo("false [definitions.adoc]");
+            assertThat(FileUtils.readFileToString(new File(outputDirectory, "definitions.adoc"), "UTF-8")).contains("A watched category.");
+            assertThat(swaggerRegeneration).isEqualTo("true []");
+            assertThat(new File(outputDirectory, "operations/addnewpet.adoc")).exists();
+        }
+    }
+
+    /**
+     * Waits until a file regenerated by a watcher contains a text, or the watch timeout elapses
+     */
+    /**
+     * Returns a Swagger JSON source with the given top-level fields moved to the end, in the given order
+     */
+    private static byte[] reorderedSwagger(File file, String... lastFieldNames) throws IOException {
+        ObjectNode swaggerNode = (ObjectNode) Json.mapper().readTree(file);
+        ObjectNode reorderedNode = Json.mapper().createObjectNode();
+        reorderedNode.setAll(swaggerNode);
+        for (String fieldName : lastFieldNames)
+            reorderedNode.set(fieldName, reorderedNode.remove(fieldName));
+        return Json.mapper().writeValueAsBytes(reorderedNode);
+    }
+
+    private static void awaitFileContaining(File file, String text) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WATCH_TIMEOUT_SECONDS);
+        while (System.nanoTime() - deadline < 0) {
+            if (file.exists() && FileUtils.readFileToString(file, "UTF-8").contains(text))
+                return;
+            Thread.sleep(100);
+        }
+    }
+
+    @Test
+    public void testSwagger2MarkupUpdateFolderWithSeparatedTagsAndChunks() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File updateDirectory = new File("build/docs/update");
+        FileUtils.deleteQuietly(updateDirectory);
+        File descriptionsDirectory = new File(updateDirectory, "descriptions");
+        File operationDescription = new File(descriptionsDirectory, "paths/addpet/description.adoc");
+        FileUtils.write(operationDescription, "An updated pet.", "UTF-8");
+        File taggedDirectory = new File(updateDirectory, "tagged");
+        File chunkedDirectory = new File(updateDirectory, "chunked");
+        Swagger2MarkupConverter taggedConverter = Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS)
+                .withSeparatedTags().withDescriptions(descriptionsDirectory.getPath()).build();
+        Swagger2MarkupConverter chunkedConverter = Swagger2MarkupConverter.from(file.getAbsolutePath()).withChunking(5, 0)
+                .withDescriptions(descriptionsDirectory.getPath()).build();
+        taggedConverter.intoFolder(taggedDirectory.getPath());
+        chunkedConverter.intoFolder(chunkedDirectory.getPath());
+
+        //When
+        Set<String> taggedFiles = taggedConverter.updateFolder(taggedDirectory.getPath(), asList(operationDescription.toPath()));
+        Set<String> chunkedFiles = chunkedConverter.updateFolder(chunkedDirectory.getPath(), asList(operationDescription.toPath()));
+
+        //Then
+        assertThat(taggedFiles).containsExactly("paths.adoc", "tags/pet.adoc", "tags/store.adoc", "tags/user.adoc");
+        assertThat(FileUtils.readFileToString(new File(taggedDirectory, "tags/pet.adoc"), "UTF-8")).contains("An updated pet.");
+        assertThat(chunkedFiles).containsExactly("paths-1.adoc", "paths-2.adoc", "paths-3.adoc", "paths-4.adoc", "paths.adoc");
+        for (String chunkedFile : chunkedFiles)
+            assertThat(new File(chunkedDirectory, chunkedFile)).exists();
+    }
+
+    private static HttpURLConnection openPost(String url, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream output = connection.getOutputStream()) {
+            output.write(body);
+        }
+        return connection;
+    }
+
+    private static byte[] post(String url, byte[] body) throws IOException {
+        HttpURLConnection connection = openPost(url, body);
+        assertThat(connection.getResponseCode()).isEqualTo(200);
+        try (InputStream input = connection.getInputStream()) {
+            return IOUtils.toByteArray(input);
+        }
+    }
+
+    private static int responseCode(String url, byte[] body) throws IOException {
+        return openPost(url, body).getResponseCode();
+    }
+
+    @Test
+    public void testSwagger2AsciiDocGroupedByResourceTree() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+
+        //When
+        String asString = Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.RESOURCE_TREE)
+                .withParallelism(3).withDocuments(DocumentType.PATHS).build().asString();
+
+        //Then
+        int pets = asString.indexOf("=== /pets");
+        int stores = asString.indexOf("=== /stores");
+        int users = asString.indexOf("=== /users");
+        assertThat(pets).isPositive().isLessThan(stores);
+        assertThat(stores).isLessThan(users);
+        assertThat(asString.indexOf("Find pet by ID")).isGreaterThan(pets).isLessThan(stores);
+        assertThat(asString.indexOf("Find purchase order by ID")).isGreaterThan(stores).isLessThan(users);
+        assertThat(asString).doesNotContain("=== /pets/").contains("===== Tags");
+    }
+
     @Test
     public void testSwagger2AsciiDocConversionWithSeparatedDefinitions() throws IOException {
         //Given
@@ -302,6 +1140,110 @@ public class Swagger2MarkupConverterTest {
         assertThat(paths).hasSize(18);
     }
 
+    @Test
+    public void testSwagger2AsciiDocConversionWithSeparatedTags() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/generated");
+        FileUtils.deleteQuietly(outputDirectory);
+
+        //When
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).withPathsGroupedBy(GroupBy.TAGS).withSeparatedTags()
+                .withParallelism(3).build()
+                .intoFolder(outputDirectory.getAbsolutePath());
+
+        //Then
+        String[] directories = outputDirectory.list();
+        assertThat(directories).hasSize(5).containsAll(
+                asList("tags", "definitions.adoc", "overview.adoc", "paths.adoc", "security.adoc"));
+
+        File tagsDirectory = new File(outputDirectory, "tags");
+        assertThat(tagsDirectory.list()).containsOnly("pet.adoc", "store.adoc", "user.adoc");
+
+        String paths = new String(Files.readAllBytes(new File(outputDirectory, "paths.adoc").toPath()), Charset.forName("UTF-8"));
+        assertThat(paths).contains("tags/pet.adoc").doesNotContain("Add a new pet to the store");
+        String petTag = new String(Files.readAllBytes(new File(tagsDirectory, "pet.adoc").toPath()), Charset.forName("UTF-8"));
+        assertThat(petTag).contains("Add a new pet to the store").doesNotContain("Place an order for a pet");
+    }
+
+    @Test
+    public void testSwagger2AsciiDocConversionWithChunking() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/asciidoc/generated");
+        File unchunkedDirectory = new File("build/docs/asciidoc/unchunked");
+        FileUtils.deleteQuietly(outputDirectory);
+        FileUtils.deleteQuietly(unchunkedDirectory);
+
+        //When
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).withChunking(5, 0).withParallelism(3).build()
+                .intoFolder(outputDirectory.getAbsolutePath());
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).build()
+                .intoFolder(unchunkedDirectory.getAbsolutePath());
+
+        //Then
+        assertThat(outputDirectory.list()).containsOnly("overview.adoc", "security.adoc",
+                "paths.adoc", "paths-1.adoc", "paths-2.adoc", "paths-3.adoc", "paths-4.adoc",
+                "definitions.adoc", "definitions-1.adoc", "definitions-2.adoc");
+        for (String document : asList("paths", "definitions")) {
+            String master = new String(Files.readAllBytes(new File(outputDirectory, document + ".adoc").toPath()), Charset.forName("UTF-8"));
+            assertThat(master).contains("include::" + document + "-1.adoc[]", "include::" + document + "-2.adoc[]");
+
+            StringBuilder included = new StringBuilder(master.substring(0, master.indexOf("include::")));
+            for (int chunk = 1; new File(outputDirectory, document + "-" + chunk + ".adoc").exists(); chunk++) {
+                included.append(new String(Files.readAllBytes(new File(outputDirectory, document + "-" + chunk + ".adoc").toPath()), Charset.forName("UTF-8")));
+            }
+            assertThat(included.toString())
+                    .isEqualTo(new String(Files.readAllBytes(new File(unchunkedDirectory, document + ".adoc").toPath()), Charset.forName("UTF-8")));
+        }
+    }
+
+    @Test
+    public void testSwagger2MarkdownConversionWithChunking() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File outputDirectory = new File("build/docs/markdown/chunked");
+        File unchunkedDirectory = new File("build/docs/markdown/unchunked");
+        FileUtils.deleteQuietly(outputDirectory);
+        FileUtils.deleteQuietly(unchunkedDirectory);
+
+        //When
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).withMarkupLanguage(MarkupLanguage.MARKDOWN)
+                .withInterDocumentCrossReferences().withSeparatedDefinitions().withChunking(5, 0).build()
+                .intoFolder(outputDirectory.getAbsolutePath());
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).withMarkupLanguage(MarkupLanguage.MARKDOWN)
+                .withInterDocumentCrossReferences().withSeparatedDefinitions().build()
+                .intoFolder(unchunkedDirectory.getAbsolutePath());
+
+        //Then
+        assertThat(outputDirectory.list()).contains("paths.md", "paths-1.md", "paths-2.md", "paths-3.md", "paths-4.md",
+                "definitions.md", "definitions-1.md");
+        for (String document : asList("paths", "definitions")) {
+            String master = FileUtils.readFileToString(new File(outputDirectory, document + ".md"), "UTF-8");
+            assertThat(master).contains("* [" + document + "-1.md](" + document + "-1.md)");
+
+            StringBuilder linked = new StringBuilder(master.substring(0, master.indexOf("* [" + document + "-1.md]")));
+            for (int chunk = 1; new File(outputDirectory, document + "-" + chunk + ".md").exists(); chunk++) {
+                assertThat(master).contains("* [" + document + "-" + chunk + ".md](" + document + "-" + chunk + ".md)");
+                linked.append(FileUtils.readFileToString(new File(outputDirectory, document + "-" + chunk + ".md"), "UTF-8"));
+            }
+            assertThat(linked.toString()).isEqualTo(FileUtils.readFileToString(new File(unchunkedDirectory, document + ".md"), "UTF-8"));
+        }
+        // The cross-references point to the separated definition files, which hold their anchors
+        assertThat(FileUtils.readFileToString(new File(outputDirectory, "paths-1.md"), "UTF-8")).contains("definitions/pet.md");
+
+        //When
+        try {
+            Swagger2MarkupConverter.from(file.getAbsolutePath()).withMarkupLanguage(MarkupLanguage.MARKDOWN)
+                    .withInterDocumentCrossReferences().withChunking(5, 0).build()
+                    .intoFolder(outputDirectory.getAbsolutePath());
+            failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+        } catch (IllegalArgumentException e) {
+            //Then
+            assertThat(e).hasMessageContaining("require AsciiDoc or separated definitions");
+        }
+    }
+
     @Test
     public void testSwagger2MarkdownConversionWithSeparatedDefinitions() throws IOException {
         //Given
@@ -370,6 +1312,32 @@ public class Swagger2MarkupConverterTest {
                 .contains("== Определения");
     }
 
+    @Test
+    public void testSwagger2AsciiDocConversionIntoSeveralOutputLanguages() throws IOException {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        File englishDirectory = new File("build/docs/localized/en");
+        File russianDirectory = new File("build/docs/localized/ru");
+        File expectedDirectory = new File("build/docs/localized/expected");
+        FileUtils.deleteQuietly(new File("build/docs/localized"));
+
+        //When
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).build()
+                .intoLocalizedFolders(ImmutableMap.of(
+                        Language.EN.toLocale(), englishDirectory.getAbsolutePath(),
+                        Language.RU.toLocale(), russianDirectory.getAbsolutePath()));
+        Swagger2MarkupConverter.from(file.getAbsolutePath()).withOutputLanguage(Language.RU).build()
+                .intoFolder(expectedDirectory.getAbsolutePath());
+
+        //Then
+        assertThat(new String(Files.readAllBytes(new File(englishDirectory, "definitions.adoc").toPath()), Charset.forName("UTF-8")))
+                .contains("== Definitions");
+        for (String document : expectedDirectory.list()) {
+            assertThat(new String(Files.readAllBytes(new File(russianDirectory, document).toPath()), Charset.forName("UTF-8")))
+                    .isEqualTo(new String(Files.readAllBytes(new File(expectedDirectory, document).toPath()), Charset.forName("UTF-8")));
+        }
+    }
+
     @Test
     public void testSwagger2AsciiDocConversionWithFrenchOutputLanguage() throws IOException {
         //Given
@@ -407,6 +1375,82 @@ public class Swagger2MarkupConverterTest {
                 .contains("quién");
     }
     
+    @Test
+    public void testSwagger2MarkupConversionOfSharedSwaggerModelIsThreadSafe() throws Exception {
+        //Given
+        File file = new File(Swagger2MarkupConverterTest.class.getResource("/json/swagger.json").getFile());
+        final Swagger swagger = new SwaggerParser().read(file.getAbsolutePath());
+        List<Parameter> loginParameters = new ArrayList<>(swagger.getPath("/users/login").getGet().getParameters());
+        final List<MarkupLanguage> markupLanguages = asList(MarkupLanguage.ASCIIDOC, MarkupLanguage.MARKDOWN);
+        final List<Language> languages = asList(Language.EN, Language.FR, Language.RU);
+        final Map<String, String> expectedDocuments = Maps.newHashMap();
+        for (MarkupLanguage markupLanguage : markupLanguages) {
+            for (Language language : languages) {
+                expectedDocuments.put(markupLanguage + "-" + language, Swagger2MarkupConverter.from(swagger)
+                        .withMarkupLanguage(markupLanguage).withOutputLanguage(language).withPathsGroupedBy(GroupBy.TAGS)
+                        .build().asString());
+            }
+        }
+
+        //When
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> documents = new ArrayList<>();
+        List<String> documentKeys = new ArrayList<>();
+        try {
+            for (int i = 0; i < 60; i++) {
+                final MarkupLanguage markupLanguage = markupLanguages.get(i % markupLanguages.size());
+                final Language language = languages.get(i % languages.size());
+                documentKeys.add(markupLanguage + "-" + language);
+                documents.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        return Swagger2MarkupConverter.from(swagger)
+                                .withMarkupLanguage(markupLanguage).withOutputLanguage(language).withPathsGroupedBy(GroupBy.TAGS)
+                                .build().asString();
+                    }
+                }));
+            }
+
+            //Then
+            for (int i = 0; i < documents.size(); i++) {
+                assertThat(documents.get(i).get()).isEqualTo(expectedDocuments.get(documentKeys.get(i)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(swagger.getPath("/users/login").getGet().getParameters()).isEqualTo(loginParameters);
+    }
+
+    /**
+     * Returns the names of the temporary files of the fragment buffers
+     */
+    private static Set<String> spillFiles() {
+        Set<String> spillFiles = Sets.newHashSet();
+        String[] temporaryFiles = new File(System.getProperty("java.io.tmpdir")).list();
+        if (temporaryFiles != null) {
+            for (String temporaryFile : temporaryFiles) {
+                if (temporaryFile.startsWith("swagger2markup") && temporaryFile.endsWith(".fragments"))
+                    spillFiles.add(temporaryFile);
+            }
+        }
+        return spillFiles;
+    }
+
+    private static class CountingRefType extends RefType {
+        private final AtomicInteger renders;
+
+        CountingRefType(String document, String name, AtomicInteger renders) {
+            super(document, name);
+            this.renders = renders;
+        }
+
+        @Override
+        public String displaySchema(MarkupDocBuilder docBuilder) {
+            renders.incrementAndGet();
+            return super.displaySchema(docBuilder);
+        }
+    }
+
     /**
      * Given a markdown document to search, this checks to see if the specified tables
      * have all of the expected fields listed.
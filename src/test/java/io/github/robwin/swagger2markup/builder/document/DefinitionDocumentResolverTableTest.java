@@ -0,0 +1,115 @@
+/*
+ *
+ *  Copyright 2015 Robert Winkler
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ *
+ */
+package io.github.robwin.swagger2markup.builder.document;
+
+import io.github.robwin.swagger2markup.GroupBy;
+import io.github.robwin.swagger2markup.Swagger2MarkupConverter;
+import io.github.robwin.swagger2markup.config.Swagger2MarkupConfig;
+import io.github.robwin.swagger2markup.type.DefinitionDocumentResolver;
+import io.github.robwin.swagger2markup.type.DefinitionDocumentResolverTable;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.assertThat;
+
+public class DefinitionDocumentResolverTableTest {
+
+    private static final String OUTPUT_DIRECTORY = "build/docs/asciidoc/resolverTable";
+    private static final String UNKNOWN_DEFINITION = "UnknownDefinition";
+
+    @Test
+    public void testResolverTableFromOperationWithSeparatedOperations() {
+        //Given
+        Swagger2MarkupConfig config = builder().withSeparatedOperations().build().getSwagger2MarkupConfig();
+        PathsDocument pathsDocument = new PathsDocument(config, new ConversionContext(config), OUTPUT_DIRECTORY);
+
+        //When
+        DefinitionDocumentResolver original = pathsDocument.new DefinitionDocumentResolverFromOperation();
+
+        //Then
+        assertSameResolution(config, original, pathsDocument.definitionDocumentResolver(original));
+        assertThat(original.apply("Pet")).isEqualTo(new File("..", "definitions/pet.adoc").getPath());
+    }
+
+    @Test
+    public void testResolverTableFromOperationWithSeparatedTags() {
+        //Given
+        Swagger2MarkupConfig config = builder().withPathsGroupedBy(GroupBy.TAGS).withSeparatedTags().build().getSwagger2MarkupConfig();
+        PathsDocument pathsDocument = new PathsDocument(config, new ConversionContext(config), OUTPUT_DIRECTORY);
+
+        //When
+        DefinitionDocumentResolver original = pathsDocument.new DefinitionDocumentResolverFromOperation();
+
+        //Then
+        assertSameResolution(config, original, pathsDocument.definitionDocumentResolver(original));
+        assertThat(original.apply("Pet")).isEqualTo(new File("..", "definitions/pet.adoc").getPath());
+    }
+
+    @Test
+    public void testResolverTableFromOperationWithoutSeparatedOperations() {
+        //Given
+        Swagger2MarkupConfig config = builder().build().getSwagger2MarkupConfig();
+        PathsDocument pathsDocument = new PathsDocument(config, new ConversionContext(config), OUTPUT_DIRECTORY);
+
+        //When
+        DefinitionDocumentResolver original = pathsDocument.new DefinitionDocumentResolverFromOperation();
+
+        //Then
+        assertSameResolution(config, original, pathsDocument.definitionDocumentResolver(original));
+        assertThat(original.apply("Pet")).isEqualTo("definitions/pet.adoc");
+    }
+
+    @Test
+    public void testResolverTableFromDefinition() {
+        //Given
+        Swagger2MarkupConfig config = builder().withSeparatedOperations().build().getSwagger2MarkupConfig();
+        DefinitionsDocument definitionsDocument = new DefinitionsDocument(config, new ConversionContext(config), OUTPUT_DIRECTORY);
+
+        //When
+        DefinitionDocumentResolver original = definitionsDocument.new DefinitionDocumentResolverFromDefinition();
+
+        //Then
+        assertSameResolution(config, original, definitionsDocument.definitionDocumentResolver(original));
+        assertThat(original.apply("Pet")).isEqualTo("pet.adoc");
+    }
+
+    private static Swagger2MarkupConverter.Builder builder() {
+        File file = new File(DefinitionDocumentResolverTableTest.class.getResource("/json/swagger.json").getFile());
+        return Swagger2MarkupConverter.from(file.getAbsolutePath()).withSeparatedDefinitions().withInterDocumentCrossReferences();
+    }
+
+    /**
+     * Checks that a table resolves every definition, and falls back for unknown definitions, exactly like the resolver it was computed with
+     */
+    private static void assertSameResolution(Swagger2MarkupConfig config, DefinitionDocumentResolver original, DefinitionDocumentResolver table) {
+        List<String> definitionNames = new ArrayList<>(config.getSwagger().getDefinitions().keySet());
+        DefinitionDocumentResolver newTable = new DefinitionDocumentResolverTable(definitionNames, original);
+        assertThat(table).isInstanceOf(DefinitionDocumentResolverTable.class);
+
+        definitionNames.add(UNKNOWN_DEFINITION);
+        for (String definitionName : definitionNames) {
+            assertThat(table.apply(definitionName)).isEqualTo(original.apply(definitionName));
+            assertThat(newTable.apply(definitionName)).isEqualTo(original.apply(definitionName));
+        }
+        assertThat(newTable.apply(UNKNOWN_DEFINITION)).isNotNull();
+    }
+}